@@ -0,0 +1,96 @@
+package com.bmri.blogbackend.domain;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Reads one post's content by id from an H2 table, stored either plain or through ContentCompressionConverter.
+// bytesRead / reads is the stored size per lookup; divide by the plain run to get the compression ratio.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentCompressionBenchmark {
+
+    private static final int POST_COUNT = 1000;
+    private static final String[] WORDS = {"spring", "hibernate", "query", "index", "latency", "the", "a", "of",
+            "post", "cache", "transaction", "virtual", "thread", "request", "response", "database", "and", "to"};
+
+    @Param({"false", "true"})
+    private boolean compressed;
+
+    @Param({"2000", "20000"})
+    private int contentLength;
+
+    private ContentCompressionConverter converter;
+    private Connection connection;
+    private PreparedStatement selectById;
+    private long nextId;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class ReadCounters {
+        public long bytesRead;
+        public long reads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesRead = 0;
+            reads = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws SQLException {
+        converter = new ContentCompressionConverter(compressed, 1024);
+        connection = DriverManager.getConnection("jdbc:h2:mem:compression-" + compressed + "-" + contentLength, "sa", "");
+        try (var statement = connection.createStatement()) {
+            statement.execute("create table posts (id bigint primary key, content clob not null)");
+        }
+        var random = new Random(42);
+        try (var insert = connection.prepareStatement("insert into posts (id, content) values (?, ?)")) {
+            for (long id = 1; id <= POST_COUNT; id++) {
+                insert.setLong(1, id);
+                insert.setString(2, converter.convertToDatabaseColumn(content(random)));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        selectById = connection.prepareStatement("select content from posts where id = ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        selectById.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public String getPostById(ReadCounters counters) throws SQLException {
+        nextId = nextId % POST_COUNT + 1;
+        selectById.setLong(1, nextId);
+        try (var resultSet = selectById.executeQuery()) {
+            resultSet.next();
+            var column = resultSet.getString(1);
+            counters.bytesRead += column.length();
+            counters.reads++;
+            return converter.convertToEntityAttribute(column);
+        }
+    }
+
+    private String content(Random random) {
+        var builder = new StringBuilder(contentLength + 16);
+        while (builder.length() < contentLength) {
+            builder.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(8) == 0 ? ". " : " ");
+        }
+        return builder.toString();
+    }
+
+}
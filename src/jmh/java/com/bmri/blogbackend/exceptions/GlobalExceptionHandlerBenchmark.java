@@ -0,0 +1,37 @@
+package com.bmri.blogbackend.exceptions;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ServletWebRequest request;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/posts/42"));
+    }
+
+    // Includes constructing the exception, which captures a stack trace
+    @Benchmark
+    public StandardErrorResponse objectNotFound() {
+        return handler.handleObjectNotFoundException(new ObjectNotFoundException("Post not found with ID = 42"), request);
+    }
+
+    @Benchmark
+    public StandardErrorResponse badRequest() {
+        return handler.handleBadRequestException(new BadRequestException("Invalid cursor"), request);
+    }
+
+}
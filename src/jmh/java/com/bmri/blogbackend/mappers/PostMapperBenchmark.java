@@ -0,0 +1,58 @@
+package com.bmri.blogbackend.mappers;
+
+import com.bmri.blogbackend.domain.PostEntity;
+import com.bmri.blogbackend.dtos.response.PostResponseDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostMapperBenchmark {
+
+    @Param({"2", "20"})
+    private int tagCount;
+
+    private PostEntity postEntity;
+    private PostResponseDto postDto;
+    private List<String> tags;
+
+    @Setup
+    public void setUp() {
+        tags = IntStream.range(0, tagCount).mapToObj(i -> "tag" + i).toList();
+        postEntity = new PostEntity("title", "content ".repeat(500), "category", tags, true);
+        postEntity.setId(1L);
+        postEntity.setCreatedAt(LocalDateTime.now());
+        postEntity.setUpdatedAt(LocalDateTime.now());
+        postDto = PostMapper.toDto(postEntity);
+    }
+
+    @Benchmark
+    public PostResponseDto toDto() {
+        return PostMapper.toDto(postEntity);
+    }
+
+    @Benchmark
+    public PostEntity toEntity() {
+        return PostMapper.toEntity(postDto);
+    }
+
+    @Benchmark
+    public List<String> getTags() {
+        return postEntity.getTags();
+    }
+
+    @Benchmark
+    public PostEntity setTags() {
+        postEntity.setTags(tags);
+        return postEntity;
+    }
+
+}
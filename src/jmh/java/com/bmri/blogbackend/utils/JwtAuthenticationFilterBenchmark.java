@@ -0,0 +1,55 @@
+package com.bmri.blogbackend.utils;
+
+import com.bmri.blogbackend.enums.Role;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        var jwtUtils = JwtBenchmark.jwtUtils();
+        filter = new JwtAuthenticationFilter(jwtUtils);
+        authorization = "Bearer " + jwtUtils.generateToken("admin", Role.ADMIN);
+    }
+
+    @Benchmark
+    public MockFilterChain authenticatedWrite() throws ServletException, IOException {
+        return filter(request("DELETE", "/posts/1"));
+    }
+
+    @Benchmark
+    public MockFilterChain publicRead() throws ServletException, IOException {
+        return filter(request("GET", "/posts/1"));
+    }
+
+    private MockFilterChain filter(MockHttpServletRequest request) throws ServletException, IOException {
+        var filterChain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+        SecurityContextHolder.clearContext();
+        return filterChain;
+    }
+
+    private MockHttpServletRequest request(String method, String path) {
+        var request = new MockHttpServletRequest(method, path);
+        request.addHeader("Authorization", authorization);
+        return request;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.bmri.blogbackend.utils;
+
+import com.bmri.blogbackend.enums.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private JwtUtils jwtUtils;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = jwtUtils();
+        parser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build();
+        token = jwtUtils.generateToken("admin", Role.ADMIN);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken("admin", Role.ADMIN);
+    }
+
+    // Full signature verification, what every request paid before verified tokens were cached
+    @Benchmark
+    public Claims parseToken() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims getCachedClaims() {
+        return jwtUtils.getClaims(token);
+    }
+
+    static JwtUtils jwtUtils() {
+        var jwtUtils = new JwtUtils(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtils, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "cacheMaximumSize", 10_000L);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.bmri.blogbackend.cache;
+
+import com.bmri.blogbackend.dtos.response.CacheStatsDto;
+import com.bmri.blogbackend.dtos.response.PostResponseDto;
+import com.bmri.blogbackend.events.PostDeletedEvent;
+import com.bmri.blogbackend.events.PostSavedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+public class PostCache implements MeterBinder {
+
+    private final Cache<Long, PostResponseDto> postsById;
+    private final Cache<String, Long> postIdsByTitle;
+    // Counts puts and evictions, so a load can tell whether a write was applied while it ran
+    private final AtomicLong writes = new AtomicLong();
+
+    public PostCache(@Value("${blog.cache.posts.maximum-size:10000}") long maximumSize,
+                     @Value("${blog.cache.posts.time-to-live:10m}") Duration timeToLive) {
+        this.postsById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        this.postIdsByTitle = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    // The loader runs outside the cache's compute, which would otherwise pin a virtual thread's carrier for the query
+    public PostResponseDto getById(Long id, Function<Long, PostResponseDto> loader) {
+        var cachedPost = postsById.getIfPresent(id);
+        if (cachedPost != null) {
+            return cachedPost;
+        }
+        var writesBefore = writes.get();
+        var post = loader.apply(id);
+        return cacheLoaded(post, writesBefore);
+    }
+
+    public PostResponseDto getByTitle(String title, Function<String, PostResponseDto> loader) {
+        var id = postIdsByTitle.getIfPresent(title);
+        if (id != null) {
+            var cachedPost = postsById.getIfPresent(id);
+            if (cachedPost != null && title.equals(cachedPost.getTitle())) {
+                return cachedPost;
+            }
+            postIdsByTitle.invalidate(title);
+        }
+
+        var writesBefore = writes.get();
+        var post = loader.apply(title);
+        var cachedPost = cacheLoaded(post, writesBefore);
+        postIdsByTitle.put(title, post.getId());
+        return title.equals(cachedPost.getTitle()) ? cachedPost : post;
+    }
+
+    public PostResponseDto getIfPresent(Long id) {
+        return postsById.getIfPresent(id);
+    }
+
+    public PostResponseDto getIfPresent(String title) {
+        var id = postIdsByTitle.getIfPresent(title);
+        var cachedPost = id != null ? postsById.getIfPresent(id) : null;
+        return cachedPost != null && title.equals(cachedPost.getTitle()) ? cachedPost : null;
+    }
+
+    // Save events can arrive out of commit order, so an older version never replaces the cached one
+    public void put(PostResponseDto post) {
+        writes.incrementAndGet();
+        var cachedPost = postsById.asMap().merge(post.getId(), post, PostCache::newer);
+        if (cachedPost == post) {
+            postIdsByTitle.put(post.getTitle(), post.getId());
+        }
+    }
+
+    public void evict(Long id) {
+        writes.incrementAndGet();
+        postsById.invalidate(id);
+    }
+
+    public List<CacheStatsDto> getStats() {
+        return List.of(toStatsDto("postsById", postsById), toStatsDto("postIdsByTitle", postIdsByTitle));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, postsById, "postsById");
+        CaffeineCacheMetrics.monitor(registry, postIdsByTitle, "postIdsByTitle");
+    }
+
+    @TransactionalEventListener
+    public void onPostSaved(PostSavedEvent event) {
+        put(event.post());
+    }
+
+    @TransactionalEventListener
+    public void onPostDeleted(PostDeletedEvent event) {
+        evict(event.id());
+    }
+
+    // A post loaded while a write was applied may predate it, so it is returned but not cached. Otherwise an entry
+    // stored in the meantime is only replaced by a newer version
+    private PostResponseDto cacheLoaded(PostResponseDto post, long writesBefore) {
+        if (writes.get() != writesBefore) {
+            return post;
+        }
+        return postsById.asMap().merge(post.getId(), post, PostCache::newer);
+    }
+
+    private static PostResponseDto newer(PostResponseDto current, PostResponseDto candidate) {
+        return current.getVersion() > candidate.getVersion() ? current : candidate;
+    }
+
+    private static CacheStatsDto toStatsDto(String name, Cache<?, ?> cache) {
+        var stats = cache.stats();
+        return new CacheStatsDto(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount());
+    }
+}
@@ -0,0 +1,11 @@
+package com.bmri.blogbackend.cache;
+
+import com.bmri.blogbackend.dtos.response.PostVersionDto;
+
+// Serialized PostResponseDto; gzip is null when the JSON is too small to be worth compressing
+public record PostResponseBody(PostVersionDto version, byte[] json, byte[] gzip) {
+
+    int weight() {
+        return json.length + (gzip != null ? gzip.length : 0);
+    }
+}
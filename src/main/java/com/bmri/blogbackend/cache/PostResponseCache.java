@@ -0,0 +1,106 @@
+package com.bmri.blogbackend.cache;
+
+import com.bmri.blogbackend.dtos.response.CacheStatsDto;
+import com.bmri.blogbackend.dtos.response.PostResponseDto;
+import com.bmri.blogbackend.events.PostDeletedEvent;
+import com.bmri.blogbackend.events.PostSavedEvent;
+import com.bmri.blogbackend.mappers.PostMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class PostResponseCache implements MeterBinder {
+
+    private final Cache<Long, PostResponseBody> bodiesById;
+    private final ObjectMapper objectMapper;
+    private final long gzipMinSize;
+
+    public PostResponseCache(ObjectMapper objectMapper,
+                             @Value("${blog.cache.responses.maximum-size:64MB}") DataSize maximumSize,
+                             @Value("${blog.cache.responses.gzip-min-size:1KB}") DataSize gzipMinSize) {
+        this.objectMapper = objectMapper;
+        this.gzipMinSize = gzipMinSize.toBytes();
+        this.bodiesById = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((Long id, PostResponseBody body) -> body.weight())
+                .recordStats()
+                .build();
+    }
+
+    // Entries are only served for the version the caller has just read, so a missed eviction never serves a stale body
+    public PostResponseBody get(Long id, Long version, Supplier<PostResponseDto> loader) {
+        var cachedBody = bodiesById.getIfPresent(id);
+        if (cachedBody != null && cachedBody.version().getVersion().equals(version)) {
+            return cachedBody;
+        }
+
+        var body = serialize(loader.get());
+        // Never replace a newer body stored by a concurrent request
+        bodiesById.asMap().merge(body.version().getId(), body, (current, loaded) ->
+                current.version().getVersion() > loaded.version().getVersion() ? current : loaded);
+        return body;
+    }
+
+    public void evict(Long id) {
+        bodiesById.invalidate(id);
+    }
+
+    public void evictAll() {
+        bodiesById.invalidateAll();
+    }
+
+    public CacheStatsDto getStats() {
+        var stats = bodiesById.stats();
+        return new CacheStatsDto("postResponsesById", bodiesById.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, bodiesById, "postResponsesById");
+    }
+
+    @TransactionalEventListener
+    public void onPostSaved(PostSavedEvent event) {
+        evict(event.post().getId());
+    }
+
+    @TransactionalEventListener
+    public void onPostDeleted(PostDeletedEvent event) {
+        evict(event.id());
+    }
+
+    private PostResponseBody serialize(PostResponseDto post) {
+        try {
+            var json = objectMapper.writeValueAsBytes(post);
+            return new PostResponseBody(PostMapper.toVersionDto(post), json, json.length >= gzipMinSize ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        var bytes = new ByteArrayOutputStream(json.length / 4);
+        try (var gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,95 @@
+package com.bmri.blogbackend.config;
+
+import com.bmri.blogbackend.datasource.ReadYourWritesInterceptor;
+import com.bmri.blogbackend.datasource.ReplicaRoutingDataSource;
+import com.bmri.blogbackend.enums.ReplicaSelection;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Replaces the auto-configured DataSource with one that routes readOnly transactions to the replicas
+@Configuration
+@ConditionalOnProperty(value = "blog.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    // Built from spring.datasource like the auto-configured pool it replaces
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        var dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // The replica pools are not beans, so the actuator does not bind them; they report hikaricp.* like the primary
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${blog.datasource.replicas.urls}") List<String> urls,
+            @Value("${blog.datasource.replicas.username}") String username,
+            @Value("${blog.datasource.replicas.password}") String password,
+            @Value("${blog.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${blog.datasource.replicas.selection:round-robin}") ReplicaSelection selection,
+            @Value("${blog.datasource.replicas.max-lag:5s}") Duration maxLag,
+            @Value("${blog.datasource.replicas.lag-query}") String lagQuery) {
+        var replicas = new ArrayList<HikariDataSource>(urls.size());
+        for (var url : urls) {
+            var replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, selection, maxLag, lagQuery);
+    }
+
+    // Defers the routing decision until the first statement, when the transaction's readOnly flag is known
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    // Open-in-view keeps one session per request; releasing its connection after each transaction lets every
+    // transaction of the request be routed on its own
+    @Bean
+    public HibernatePropertiesCustomizer connectionReleaseCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public WebMvcConfigurer readYourWritesConfigurer(
+            @Value("${blog.datasource.replicas.sticky-window:10s}") Duration stickyWindow) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new ReadYourWritesInterceptor(stickyWindow));
+            }
+        };
+    }
+
+}
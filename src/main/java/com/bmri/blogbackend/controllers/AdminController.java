@@ -0,0 +1,59 @@
+package com.bmri.blogbackend.controllers;
+
+import com.bmri.blogbackend.cache.PostCache;
+import com.bmri.blogbackend.cache.PostResponseCache;
+import com.bmri.blogbackend.dtos.response.CacheStatsDto;
+import com.bmri.blogbackend.dtos.response.MigrationResultDto;
+import com.bmri.blogbackend.jobs.ContentCompressionJob;
+import com.bmri.blogbackend.jobs.ContentStatsBackfillJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin")
+@Slf4j
+public class AdminController {
+
+    private final PostCache postCache;
+    private final PostResponseCache postResponseCache;
+    private final ContentCompressionJob contentCompressionJob;
+    private final ContentStatsBackfillJob contentStatsBackfillJob;
+
+    public AdminController(PostCache postCache, PostResponseCache postResponseCache,
+                           ContentCompressionJob contentCompressionJob, ContentStatsBackfillJob contentStatsBackfillJob) {
+        this.postCache = postCache;
+        this.postResponseCache = postResponseCache;
+        this.contentCompressionJob = contentCompressionJob;
+        this.contentStatsBackfillJob = contentStatsBackfillJob;
+    }
+
+    @GetMapping(value = "/cache/posts", produces = "application/json")
+    public ResponseEntity<List<CacheStatsDto>> getPostCacheStats() {
+        var stats = new ArrayList<>(postCache.getStats());
+        stats.add(postResponseCache.getStats());
+        log.info("getPostCacheStats: Returning statistics of {} caches", stats.size());
+        return ResponseEntity.ok().body(stats);
+    }
+
+    @PostMapping(value = "/posts/compress-content", produces = "application/json")
+    public ResponseEntity<MigrationResultDto> compressPostContent() {
+        var result = contentCompressionJob.compressExistingContent();
+        log.info("compressPostContent: Rewrote {} of {} posts", result.getRewritten(), result.getScanned());
+        return ResponseEntity.ok().body(result);
+    }
+
+    @PostMapping(value = "/posts/backfill-content-stats", produces = "application/json")
+    public ResponseEntity<MigrationResultDto> backfillContentStats() {
+        var result = contentStatsBackfillJob.backfillContentStats();
+        log.info("backfillContentStats: Rewrote {} posts", result.getRewritten());
+        return ResponseEntity.ok().body(result);
+    }
+
+}
@@ -2,27 +2,28 @@ package com.bmri.blogbackend.controllers;
 
 import com.bmri.blogbackend.dtos.request.LoginRequestDto;
 import com.bmri.blogbackend.dtos.response.JwtResponseDto;
-import com.bmri.blogbackend.repositories.UserRepository;
-import com.bmri.blogbackend.utils.JwtUtils;
-import com.bmri.blogbackend.utils.PasswordEncoderUtils;
+import com.bmri.blogbackend.services.interfaces.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @AllArgsConstructor
 public class AuthController {
 
-    private UserRepository userRepository;
-    private JwtUtils jwtUtils;
+    private AuthService authService;
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequestDto loginRequest) {
-        return userRepository.findByUsername(loginRequest.getUsername())
-                .filter(user -> PasswordEncoderUtils.matches(loginRequest.getPassword(), user.getPassword()))
-                .map(user -> ResponseEntity.ok(new JwtResponseDto(jwtUtils.generateToken(user.getUsername(), user.role))))
-                .orElseGet(() -> ResponseEntity.status(401).body(new JwtResponseDto("Invalid credentials")));
+    public CompletableFuture<ResponseEntity<JwtResponseDto>> login(@RequestBody LoginRequestDto loginRequest,
+                                                                   HttpServletRequest request) {
+        return authService.login(loginRequest, request.getRemoteAddr())
+                .thenApply(token -> token
+                        .map(ResponseEntity::ok)
+                        .orElseGet(() -> ResponseEntity.status(401).body(new JwtResponseDto("Invalid credentials"))));
     }
 }
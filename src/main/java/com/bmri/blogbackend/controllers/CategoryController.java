@@ -0,0 +1,31 @@
+package com.bmri.blogbackend.controllers;
+
+import com.bmri.blogbackend.dtos.response.CategoryCountDto;
+import com.bmri.blogbackend.services.interfaces.CategoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/categories")
+@Slf4j
+public class CategoryController {
+
+    private final CategoryService categoryService;
+
+    public CategoryController(CategoryService categoryService) {
+        this.categoryService = categoryService;
+    }
+
+    @GetMapping(produces = "application/json")
+    public ResponseEntity<List<CategoryCountDto>> getCategories() {
+        var categories = categoryService.getCategories();
+        log.info("getCategories: Found {} categories", categories.size());
+        return ResponseEntity.ok().body(categories);
+    }
+
+}
@@ -1,20 +1,48 @@
 package com.bmri.blogbackend.controllers;
 
+import com.bmri.blogbackend.cache.PostResponseBody;
+import com.bmri.blogbackend.cache.PostResponseCache;
 import com.bmri.blogbackend.dtos.request.PostCreateDto;
+import com.bmri.blogbackend.dtos.response.BatchResultDto;
+import com.bmri.blogbackend.dtos.response.CursorPageDto;
+import com.bmri.blogbackend.dtos.response.ImportResultDto;
 import com.bmri.blogbackend.dtos.response.PostResponseDto;
+import com.bmri.blogbackend.dtos.response.PostSummaryDto;
+import com.bmri.blogbackend.dtos.response.PostVersionDto;
+import com.bmri.blogbackend.mappers.PostMapper;
+import com.bmri.blogbackend.services.interfaces.PostImportService;
 import com.bmri.blogbackend.services.interfaces.PostService;
+import com.bmri.blogbackend.utils.HttpCacheUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
 @RestController
 @Validated
 @RequestMapping("/posts")
@@ -26,15 +54,24 @@ public class PostController {
     private static final int PAGE_MIN_NUMBER = 0;
     private static final int PAGE_MIN_SIZE = 1;
     private static final int PAGE_MAX_SIZE = 500;
+    private static final int QUERY_MAX_LENGTH = 200;
+    private static final int BATCH_MAX_SIZE = 1000;
 
     private final PostService postService;
+    private final PostImportService postImportService;
+    private final PostResponseCache postResponseCache;
+    private final ObjectMapper objectMapper;
 
-    public PostController(PostService postService) {
+    public PostController(PostService postService, PostImportService postImportService,
+                          PostResponseCache postResponseCache, ObjectMapper objectMapper) {
         this.postService = postService;
+        this.postImportService = postImportService;
+        this.postResponseCache = postResponseCache;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping(value = "/all", produces = "application/json")
-    public ResponseEntity<Page<PostResponseDto>> getAllPosts(
+    public ResponseEntity<Page<PostSummaryDto>> getAllPosts(
             @RequestParam(value = "page", required = false, defaultValue = PAGE_DEFAULT_NUMBER)
             @Min(value = PAGE_MIN_NUMBER, message = "Page number must be greater than or equal to ${PAGE_MIN_NUMBER}") int page,
             @RequestParam(value = "size", required = false, defaultValue = PAGE_DEFAULT_SIZE)
@@ -43,11 +80,12 @@ public class PostController {
     ) {
         var postsPage = postService.getAllPosts(PageRequest.of(page, size));
         log.info("getAllPosts: Found {} posts on page {}", postsPage.getTotalElements(), postsPage.getPageable().getPageNumber());
-        return ResponseEntity.ok().body(postsPage);
+        return ResponseEntity.ok().cacheControl(HttpCacheUtils.CACHE_CONTROL).eTag(HttpCacheUtils.eTag(postsPage))
+                .body(postsPage);
     }
 
     @GetMapping(value = "/published", produces = "application/json")
-    public ResponseEntity<Page<PostResponseDto>> getAllByPublished(
+    public ResponseEntity<Page<PostSummaryDto>> getAllByPublished(
             @RequestParam(value = "published") boolean published,
             @RequestParam(value = "page", required = false, defaultValue = PAGE_DEFAULT_NUMBER)
             @Min(value = PAGE_MIN_NUMBER, message = "Page number must be greater than or equal to ${PAGE_MIN_NUMBER}") int page,
@@ -57,27 +95,48 @@ public class PostController {
     ) {
         var postsPage = postService.getAllByPublished(published, PageRequest.of(page, size));
         log.info("getAllByPublished: Found {} posts on page {}", postsPage.getTotalElements(), postsPage.getPageable().getPageNumber());
-        return ResponseEntity.ok().body(postsPage);
+        return ResponseEntity.ok().cacheControl(HttpCacheUtils.CACHE_CONTROL).eTag(HttpCacheUtils.eTag(postsPage))
+                .body(postsPage);
     }
 
+    // Documented as the DTO the cached bytes hold rather than as binary
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = PostResponseDto.class)))
     @GetMapping(value = "/{id}", produces = "application/json")
-    public ResponseEntity<PostResponseDto> getPostById(
+    public ResponseEntity<byte[]> getPostById(
             @PathVariable
-            @Positive(message = "Post ID must be a positive integer") Long id) {
-        var postDto = postService.getPostById(id);
+            @Positive(message = "Post ID must be a positive integer") Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        var version = postService.getPostVersion(id);
+        if (isNotModified(version, webRequest)) {
+            log.info("getPostById: Post with id {} not modified", id);
+            return notModified();
+        }
+        var body = postResponseCache.get(id, version.getVersion(), () -> postService.getPostById(id));
         log.info("getPostById: Found post with id {}", id);
-        return ResponseEntity.ok().body(postDto);
+        return cacheableOk(body, acceptEncoding);
     }
 
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = PostResponseDto.class)))
     @GetMapping(value = "/title", produces = "application/json")
-    public ResponseEntity<PostResponseDto> getPostByTitle(@RequestParam(value = "title") String title) {
-        var postDto = postService.getPostByTitle(title);
+    public ResponseEntity<byte[]> getPostByTitle(
+            @RequestParam(value = "title") String title,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        var version = postService.getPostVersionByTitle(title);
+        if (isNotModified(version, webRequest)) {
+            log.info("getPostByTitle: Post with title {} not modified", title);
+            return notModified();
+        }
+        var body = postResponseCache.get(version.getId(), version.getVersion(), () -> postService.getPostByTitle(title));
         log.info("getPostByTitle: Found post with title {}", title);
-        return ResponseEntity.ok().body(postDto);
+        return cacheableOk(body, acceptEncoding);
     }
 
     @GetMapping(value = "/category", produces = "application/json")
-    public ResponseEntity<Page<PostResponseDto>> getPostsByCategory(
+    public ResponseEntity<Page<PostSummaryDto>> getPostsByCategory(
             @RequestParam(value = "category") String category, @RequestParam(value = "page", required = false, defaultValue = PAGE_DEFAULT_NUMBER)
             @Min(value = PAGE_MIN_NUMBER, message = "Page number must be greater than or equal to ${PAGE_MIN_NUMBER}") int page,
             @RequestParam(value = "size", required = false, defaultValue = PAGE_DEFAULT_SIZE)
@@ -85,11 +144,12 @@ public class PostController {
             @Max(value = PAGE_MAX_SIZE, message = "Page size must be less than or equal to ${PAGE_MAX_SIZE}") int size) {
         var postsPage = postService.getPostsByCategory(category, PageRequest.of(page, size));
         log.info("getPostsByCategory: Found {} posts on page {}", postsPage.getTotalElements(), postsPage.getPageable().getPageNumber());
-        return ResponseEntity.ok().body(postsPage);
+        return ResponseEntity.ok().cacheControl(HttpCacheUtils.CACHE_CONTROL).eTag(HttpCacheUtils.eTag(postsPage))
+                .body(postsPage);
     }
 
     @GetMapping(value = "/tag", produces = "application/json")
-    public ResponseEntity<Page<PostResponseDto>> getPostsByTag(
+    public ResponseEntity<Page<PostSummaryDto>> getPostsByTag(
             @RequestParam(value = "tag") String tag, @RequestParam(value = "page", required = false, defaultValue = PAGE_DEFAULT_NUMBER)
             @Min(value = PAGE_MIN_NUMBER, message = "Page number must be greater than or equal to ${PAGE_MIN_NUMBER}") int page,
             @RequestParam(value = "size", required = false, defaultValue = PAGE_DEFAULT_SIZE)
@@ -97,7 +157,88 @@ public class PostController {
             @Max(value = PAGE_MAX_SIZE, message = "Page size must be less than or equal to ${PAGE_MAX_SIZE}") int size) {
         var postsPage = postService.getPostsByTag(tag, PageRequest.of(page, size));
         log.info("getPostsByTag: Found {} posts on page {}", postsPage.getTotalElements(), postsPage.getPageable().getPageNumber());
-        return ResponseEntity.ok().body(postsPage);
+        return ResponseEntity.ok().cacheControl(HttpCacheUtils.CACHE_CONTROL).eTag(HttpCacheUtils.eTag(postsPage))
+                .body(postsPage);
+    }
+
+    @GetMapping(value = "/search", produces = "application/json")
+    public ResponseEntity<Page<PostSummaryDto>> searchPosts(
+            @RequestParam(value = "q") @NotBlank(message = "Search query must not be blank")
+            @Size(max = QUERY_MAX_LENGTH, message = "Search query must be at most ${QUERY_MAX_LENGTH} characters") String query,
+            @RequestParam(value = "page", required = false, defaultValue = PAGE_DEFAULT_NUMBER)
+            @Min(value = PAGE_MIN_NUMBER, message = "Page number must be greater than or equal to ${PAGE_MIN_NUMBER}") int page,
+            @RequestParam(value = "size", required = false, defaultValue = PAGE_DEFAULT_SIZE)
+            @Min(value = PAGE_MIN_SIZE, message = "Page size must be greater than or equal to ${PAGE_MIN_SIZE}")
+            @Max(value = PAGE_MAX_SIZE, message = "Page size must be less than or equal to ${PAGE_MAX_SIZE}") int size) {
+        var postsPage = postService.searchPosts(query, PageRequest.of(page, size));
+        log.info("searchPosts: Found {} posts on page {}", postsPage.getTotalElements(), postsPage.getPageable().getPageNumber());
+        return ResponseEntity.ok().cacheControl(HttpCacheUtils.CACHE_CONTROL).eTag(HttpCacheUtils.eTag(postsPage))
+                .body(postsPage);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPosts(
+            @RequestParam(value = "published", required = false) Boolean published,
+            @RequestParam(value = "category", required = false) String category) {
+        StreamingResponseBody body = outputStream -> {
+            try (var generator = objectMapper.createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                var exported = postService.exportPosts(published, category, post -> writeLine(generator, post));
+                log.info("exportPosts: Exported {} posts", exported);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping(value = "/all/cursor", produces = "application/json")
+    public ResponseEntity<CursorPageDto<PostSummaryDto>> scrollAllPosts(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", required = false, defaultValue = PAGE_DEFAULT_SIZE)
+            @Min(value = PAGE_MIN_SIZE, message = "Page size must be greater than or equal to ${PAGE_MIN_SIZE}")
+            @Max(value = PAGE_MAX_SIZE, message = "Page size must be less than or equal to ${PAGE_MAX_SIZE}") int size) {
+        var postsSlice = postService.scrollAllPosts(after, size);
+        log.info("scrollAllPosts: Found {} posts after cursor {}", postsSlice.getSize(), after);
+        return ResponseEntity.ok().cacheControl(HttpCacheUtils.CACHE_CONTROL).eTag(HttpCacheUtils.eTag(postsSlice))
+                .body(postsSlice);
+    }
+
+    @GetMapping(value = "/published/cursor", produces = "application/json")
+    public ResponseEntity<CursorPageDto<PostSummaryDto>> scrollAllByPublished(
+            @RequestParam(value = "published") boolean published,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", required = false, defaultValue = PAGE_DEFAULT_SIZE)
+            @Min(value = PAGE_MIN_SIZE, message = "Page size must be greater than or equal to ${PAGE_MIN_SIZE}")
+            @Max(value = PAGE_MAX_SIZE, message = "Page size must be less than or equal to ${PAGE_MAX_SIZE}") int size) {
+        var postsSlice = postService.scrollAllByPublished(published, after, size);
+        log.info("scrollAllByPublished: Found {} posts after cursor {}", postsSlice.getSize(), after);
+        return ResponseEntity.ok().cacheControl(HttpCacheUtils.CACHE_CONTROL).eTag(HttpCacheUtils.eTag(postsSlice))
+                .body(postsSlice);
+    }
+
+    @GetMapping(value = "/category/cursor", produces = "application/json")
+    public ResponseEntity<CursorPageDto<PostSummaryDto>> scrollPostsByCategory(
+            @RequestParam(value = "category") String category,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", required = false, defaultValue = PAGE_DEFAULT_SIZE)
+            @Min(value = PAGE_MIN_SIZE, message = "Page size must be greater than or equal to ${PAGE_MIN_SIZE}")
+            @Max(value = PAGE_MAX_SIZE, message = "Page size must be less than or equal to ${PAGE_MAX_SIZE}") int size) {
+        var postsSlice = postService.scrollPostsByCategory(category, after, size);
+        log.info("scrollPostsByCategory: Found {} posts after cursor {}", postsSlice.getSize(), after);
+        return ResponseEntity.ok().cacheControl(HttpCacheUtils.CACHE_CONTROL).eTag(HttpCacheUtils.eTag(postsSlice))
+                .body(postsSlice);
+    }
+
+    @GetMapping(value = "/tag/cursor", produces = "application/json")
+    public ResponseEntity<CursorPageDto<PostSummaryDto>> scrollPostsByTag(
+            @RequestParam(value = "tag") String tag,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", required = false, defaultValue = PAGE_DEFAULT_SIZE)
+            @Min(value = PAGE_MIN_SIZE, message = "Page size must be greater than or equal to ${PAGE_MIN_SIZE}")
+            @Max(value = PAGE_MAX_SIZE, message = "Page size must be less than or equal to ${PAGE_MAX_SIZE}") int size) {
+        var postsSlice = postService.scrollPostsByTag(tag, after, size);
+        log.info("scrollPostsByTag: Found {} posts after cursor {}", postsSlice.getSize(), after);
+        return ResponseEntity.ok().cacheControl(HttpCacheUtils.CACHE_CONTROL).eTag(HttpCacheUtils.eTag(postsSlice))
+                .body(postsSlice);
     }
 
     @PostMapping(consumes = "application/json", produces = "application/json")
@@ -107,45 +248,103 @@ public class PostController {
         if (newPost != null) {
             var uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(newPost.getId()).toUri();
             log.info("createPost: Created post ID {}", newPost.getId());
-            return ResponseEntity.created(uri).body(newPost);
+            return ResponseEntity.created(uri).eTag(HttpCacheUtils.eTag(PostMapper.toVersionDto(newPost))).body(newPost);
         }
         return ResponseEntity.internalServerError().build();
     }
 
+    @PostMapping(value = "/batch", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<BatchResultDto> createPosts(
+            @RequestBody @NotEmpty(message = "Batch must contain at least one post")
+            @Size(max = BATCH_MAX_SIZE, message = "Batch must contain at most ${BATCH_MAX_SIZE} posts") List<PostCreateDto> postCreateDtos) {
+        var result = postService.createPosts(postCreateDtos);
+        log.info("createPosts: Created {} posts, rejected {}", result.getCreated(), result.getFailed());
+        return ResponseEntity.ok().body(result);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = "application/json")
+    public ResponseEntity<ImportResultDto> importPosts(InputStream body) {
+        var result = postImportService.importPosts(body);
+        log.info("importPosts: Imported {} posts from {} lines, rejected {}", result.getCreated(), result.getLines(),
+                result.getFailed());
+        return ResponseEntity.ok().body(result);
+    }
+
     @PutMapping(value = "/{id}", consumes = "application/json", produces = "application/json")
     public ResponseEntity<PostResponseDto> updatePost(
             @PathVariable @Positive(message = "Post ID must be a positive integer") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody PostCreateDto postUpdateDto) {
-        var updatedPost = postService.updatePost(id, postUpdateDto);
+        var updatedPost = postService.updatePost(id, postUpdateDto, HttpCacheUtils.expectedVersion(id, ifMatch));
         log.info("updatePost: Updated post with ID {}", updatedPost.getId());
-        return ResponseEntity.ok().body(updatedPost);
+        return versionedOk(updatedPost);
     }
 
     @PatchMapping(value = "/{id}/publish", produces = "application/json")
     public ResponseEntity<PostResponseDto> togglePublish(
             @PathVariable @Positive(message = "Post ID must be a positive integer") Long id,
-            @RequestParam(value = "publish") boolean publish) {
-        var updatedPost = postService.togglePublish(id, publish);
+            @RequestParam(value = "publish") boolean publish,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var updatedPost = postService.togglePublish(id, publish, HttpCacheUtils.expectedVersion(id, ifMatch));
         log.info("togglePublish: Updated publish field of post ID {} to {}", updatedPost.getId(), publish);
-        return ResponseEntity.ok().body(updatedPost);
+        return versionedOk(updatedPost);
     }
 
     @PatchMapping(value = "/{id}/content", produces = "application/json")
     public ResponseEntity<PostResponseDto> updateContent(
             @PathVariable @Positive(message = "Post ID must be a positive integer") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody String newContent) {
-        var updatedPost = postService.updateContent(id, newContent);
+        var updatedPost = postService.updateContent(id, newContent, HttpCacheUtils.expectedVersion(id, ifMatch));
         log.info("updateContent: Updated content of post ID {}", updatedPost.getId());
-        return ResponseEntity.ok().body(updatedPost);
+        return versionedOk(updatedPost);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Boolean> deletePost(
             @PathVariable
-            @Positive(message = "Post ID must be a positive integer") Long id) {
-        postService.deletePost(id);
+            @Positive(message = "Post ID must be a positive integer") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        postService.deletePost(id, HttpCacheUtils.expectedVersion(id, ifMatch));
         log.info("deletePost: Deleted post ID {}", id);
         return ResponseEntity.noContent().build();
     }
 
+    private static void writeLine(JsonGenerator generator, PostResponseDto post) {
+        try {
+            generator.writeObject(post);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isNotModified(PostVersionDto version, WebRequest webRequest) {
+        return webRequest.checkNotModified(HttpCacheUtils.eTag(version), HttpCacheUtils.lastModified(version.getUpdatedAt()));
+    }
+
+    // checkNotModified has already set the 304 status, ETag and Last-Modified headers
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(HttpCacheUtils.CACHE_CONTROL).build();
+    }
+
+    // Hands back the new ETag so the client can chain its next conditional write
+    private static ResponseEntity<PostResponseDto> versionedOk(PostResponseDto postDto) {
+        return ResponseEntity.ok().eTag(HttpCacheUtils.eTag(PostMapper.toVersionDto(postDto))).body(postDto);
+    }
+
+    // The cached bytes are written as they are; the gzip copy is sent when the client accepts it
+    private static ResponseEntity<byte[]> cacheableOk(PostResponseBody body, String acceptEncoding) {
+        var version = body.version();
+        var response = ResponseEntity.ok().cacheControl(HttpCacheUtils.CACHE_CONTROL)
+                .eTag(HttpCacheUtils.eTag(version))
+                .lastModified(HttpCacheUtils.lastModified(version.getUpdatedAt()))
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (body.gzip() != null && HttpCacheUtils.acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return response.body(body.json());
+    }
+
 }
@@ -0,0 +1,33 @@
+package com.bmri.blogbackend.controllers;
+
+import com.bmri.blogbackend.dtos.response.TagCountDto;
+import com.bmri.blogbackend.services.interfaces.TagService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/tags")
+@Slf4j
+public class TagController {
+
+    private final TagService tagService;
+
+    public TagController(TagService tagService) {
+        this.tagService = tagService;
+    }
+
+    @GetMapping(produces = "application/json")
+    public ResponseEntity<List<TagCountDto>> getTags(
+            @RequestParam(value = "publishedOnly", required = false, defaultValue = "false") boolean publishedOnly) {
+        var tags = tagService.getTags(publishedOnly);
+        log.info("getTags: Found {} tags", tags.size());
+        return ResponseEntity.ok().body(tags);
+    }
+
+}
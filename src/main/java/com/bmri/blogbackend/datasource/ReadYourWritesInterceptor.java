@@ -0,0 +1,44 @@
+package com.bmri.blogbackend.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+import java.time.Duration;
+import java.util.Set;
+
+// Keeps a client's reads on the primary for a while after its own write, so it never reads from a replica that has
+// not replayed it yet. Reads are anonymous (the JWT filter skips them), so a write marks the client with a cookie that
+// expires with the window instead of being tracked by username
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    public static final String PRIMARY_COOKIE = "blog-read-primary";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Duration stickyWindow;
+
+    public ReadYourWritesInterceptor(Duration stickyWindow) {
+        this.stickyWindow = stickyWindow;
+    }
+
+    // The cookie has to be set before the handler writes the body, so the window is counted from the start of the write
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(PRIMARY_COOKIE, "1")
+                    .path("/").maxAge(stickyWindow).httpOnly(true).sameSite("Lax").build().toString());
+        } else {
+            ReplicaRoutingDataSource.setPrimaryRequired(WebUtils.getCookie(request, PRIMARY_COOKIE) != null);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRoutingDataSource.setPrimaryRequired(false);
+    }
+}
@@ -0,0 +1,154 @@
+package com.bmri.blogbackend.datasource;
+
+import com.bmri.blogbackend.enums.ReplicaSelection;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Sends readOnly transactions to a replica within the allowed lag and everything else to the primary. The lookup runs
+// when the connection is first used, so it must sit behind a LazyConnectionDataSourceProxy to see the readOnly flag
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final List<Replica> replicas;
+    private final ReplicaSelection selection;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, ReplicaSelection selection,
+                                    Duration maxLag, String lagQuery) {
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.selection = selection;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+
+        var targets = new HashMap<Object, Object>();
+        targets.put(PRIMARY, primary);
+        this.replicas.forEach(replica -> targets.put(replica.name(), replica.dataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    // Keeps the current thread's reads on the primary, e.g. right after the same client wrote
+    public static void setPrimaryRequired(boolean required) {
+        if (required) {
+            PRIMARY_REQUIRED.set(true);
+        } else {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    // Runs the reads of the supplier on the primary, e.g. for results that outlive the request in a shared cache
+    public static <T> T onPrimary(Supplier<T> reads) {
+        var primaryRequired = isPrimaryRequired();
+        setPrimaryRequired(true);
+        try {
+            return reads.get();
+        } finally {
+            setPrimaryRequired(primaryRequired);
+        }
+    }
+
+    static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || isPrimaryRequired()) {
+            return PRIMARY;
+        }
+        var available = new ArrayList<Replica>(replicas.size());
+        for (var replica : replicas) {
+            if (replica.available) {
+                available.add(replica);
+            }
+        }
+        if (available.isEmpty()) {
+            return PRIMARY;
+        }
+        return switch (selection) {
+            case ROUND_ROBIN -> available.get(Math.floorMod(nextReplica.getAndIncrement(), available.size())).name();
+            case LEAST_LOADED -> leastLoaded(available).name();
+        };
+    }
+
+    // A replica that lags behind by more than maxLag, or cannot be queried, takes no reads until it catches up
+    @Scheduled(fixedDelayString = "${blog.datasource.replicas.lag-check-interval:5s}")
+    public void checkReplicaLag() {
+        for (var replica : replicas) {
+            var available = isWithinMaxLag(replica);
+            if (available != replica.available) {
+                log.warn("checkReplicaLag: Replica {} is now {}", replica.name(), available ? "available" : "unavailable");
+            }
+            replica.available = available;
+        }
+    }
+
+    // The primary is a bean of its own and is closed by the context
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource().close());
+    }
+
+    private boolean isWithinMaxLag(Replica replica) {
+        try (var connection = replica.dataSource().getConnection();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery(lagQuery)) {
+            return resultSet.next() && resultSet.getDouble(1) * 1000 <= maxLag.toMillis();
+        } catch (SQLException e) {
+            log.warn("checkReplicaLag: Could not read the lag of replica {}: {}", replica.name(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static Replica leastLoaded(List<Replica> available) {
+        var leastLoaded = available.getFirst();
+        for (var replica : available) {
+            if (replica.activeConnections() < leastLoaded.activeConnections()) {
+                leastLoaded = replica;
+            }
+        }
+        return leastLoaded;
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean available = true;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private String name() {
+            return dataSource.getPoolName();
+        }
+
+        private HikariDataSource dataSource() {
+            return dataSource;
+        }
+
+        // The pool is started on its first connection; until then nothing is borrowed from it
+        private int activeConnections() {
+            var pool = dataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+    }
+}
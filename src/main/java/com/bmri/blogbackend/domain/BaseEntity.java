@@ -15,8 +15,9 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public abstract class BaseEntity {
 
+    // One pooled sequence per entity (allocation size 50) so inserts can be batched, which IDENTITY prevents
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
 //    @Setter(AccessLevel.NONE)
     private Long id;
 
@@ -38,6 +39,9 @@ public abstract class BaseEntity {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    private Long version;
+
     /*@LastModifiedBy
     @Column(nullable = false)
     private String updatedBy;*/
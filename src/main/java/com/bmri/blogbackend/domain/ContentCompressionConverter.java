@@ -0,0 +1,82 @@
+package com.bmri.blogbackend.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+@Component
+@Converter
+public class ContentCompressionConverter implements AttributeConverter<String, String> {
+
+    // Prefix of compressed values; rows written before compression was enabled have none and are read as they are
+    public static final String HEADER = "\u0001deflate:";
+
+    private final boolean enabled;
+    private final int threshold;
+
+    public ContentCompressionConverter(@Value("${blog.posts.compression.enabled:false}") boolean enabled,
+                                       @Value("${blog.posts.compression.threshold:4096}") int threshold) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String content) {
+        if (content == null) {
+            return null;
+        }
+        // Plain content that happens to start like the header is always compressed so it cannot be misread
+        if (content.startsWith(HEADER)) {
+            return compress(content);
+        }
+        if (!shouldCompress(content)) {
+            return content;
+        }
+        var compressed = compress(content);
+        return compressed.length() < content.getBytes(StandardCharsets.UTF_8).length ? compressed : content;
+    }
+
+    @Override
+    public String convertToEntityAttribute(String column) {
+        if (column == null || !column.startsWith(HEADER)) {
+            return column;
+        }
+        return decompress(column.substring(HEADER.length()));
+    }
+
+    public boolean shouldCompress(String content) {
+        return enabled && content != null && content.length() >= threshold;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private static String compress(String content) {
+        var bytes = new ByteArrayOutputStream();
+        try (var deflater = new DeflaterOutputStream(bytes)) {
+            deflater.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return HEADER + Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    private static String decompress(String encoded) {
+        try (var inflater = new InflaterInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(encoded)))) {
+            return new String(inflater.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,17 +1,22 @@
 package com.bmri.blogbackend.domain;
 
+import com.bmri.blogbackend.utils.ContentStatsUtils;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PUBLIC)
-@AllArgsConstructor(access = AccessLevel.PUBLIC)
 @Table(name = "posts")
+@SQLRestriction("deleted = false")
 public class PostEntity extends BaseEntity {
 
     @Column(nullable = false, unique = true)
@@ -19,11 +24,24 @@ public class PostEntity extends BaseEntity {
 
     @Column(nullable = false)
     @Lob
+    @Convert(converter = ContentCompressionConverter.class)
     private String content;
 
+    // Derived from content whenever it is set, so that listings never have to load it
+    @Column(length = ContentStatsUtils.EXCERPT_MAX_LENGTH + 1)
+    @Setter(AccessLevel.NONE)
+    private String excerpt;
+
+    @Setter(AccessLevel.NONE)
+    private Integer wordCount;
+
+    @Setter(AccessLevel.NONE)
+    private Integer readingTimeMinutes;
+
     private String category;
 
     @ElementCollection
+    @BatchSize(size = 500)
     @CollectionTable(name = "post_tags", joinColumns = @JoinColumn(name = "post_id"))
     @Column(name = "tag")
     @Getter(AccessLevel.NONE)
@@ -33,6 +51,28 @@ public class PostEntity extends BaseEntity {
     @Column(nullable = false)
     private boolean published = false;
 
+    // Soft-deleted posts are hidden from every entity query until PostPurgeJob removes them
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean deleted = false;
+
+    public PostEntity(String title, String content, String category, List<String> tags, boolean published) {
+        this.title = title;
+        setContent(content);
+        this.category = category;
+        setTags(tags);
+        this.published = published;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+        this.excerpt = ContentStatsUtils.excerpt(content);
+        this.wordCount = ContentStatsUtils.wordCount(content);
+        this.readingTimeMinutes = ContentStatsUtils.readingTimeMinutes(wordCount);
+    }
+
     public List<String> getTags() {
         if (this.tags != null) {
             return new ArrayList<>(tags);
@@ -40,9 +80,10 @@ public class PostEntity extends BaseEntity {
         return new ArrayList<>();
     }
 
+    // A tag is kept once, in first-seen order, so that tag queries and tag counts see each post once
     public void setTags(List<String> newTags) {
         if (newTags != null) {
-            this.tags = new ArrayList<>(newTags);
+            this.tags = new ArrayList<>(new LinkedHashSet<>(newTags));
         } else {
             this.tags = new ArrayList<>();
         }
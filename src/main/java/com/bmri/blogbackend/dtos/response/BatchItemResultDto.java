@@ -0,0 +1,18 @@
+package com.bmri.blogbackend.dtos.response;
+
+import com.bmri.blogbackend.enums.BatchItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class BatchItemResultDto {
+
+    private int index;
+    private BatchItemStatus status;
+    private Long id;
+    private List<String> errors;
+
+}
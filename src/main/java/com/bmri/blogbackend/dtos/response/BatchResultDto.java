@@ -0,0 +1,16 @@
+package com.bmri.blogbackend.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class BatchResultDto {
+
+    private int created;
+    private int failed;
+    private List<BatchItemResultDto> items;
+
+}
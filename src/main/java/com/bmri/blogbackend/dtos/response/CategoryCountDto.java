@@ -0,0 +1,14 @@
+package com.bmri.blogbackend.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CategoryCountDto {
+
+    private String category;
+    private long total;
+    private long published;
+
+}
@@ -0,0 +1,17 @@
+package com.bmri.blogbackend.dtos.response;
+
+import com.bmri.blogbackend.enums.BatchItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ImportLineErrorDto {
+
+    private long line;
+    private BatchItemStatus status;
+    private List<String> errors;
+
+}
@@ -0,0 +1,18 @@
+package com.bmri.blogbackend.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ImportResultDto {
+
+    private long lines;
+    private long created;
+    private long failed;
+    private List<ImportLineErrorDto> errors;
+    private boolean errorsTruncated;
+
+}
@@ -0,0 +1,13 @@
+package com.bmri.blogbackend.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class MigrationResultDto {
+
+    private long scanned;
+    private long rewritten;
+
+}
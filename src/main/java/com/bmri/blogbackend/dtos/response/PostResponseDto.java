@@ -21,5 +21,6 @@ public class PostResponseDto {
     private boolean published;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
 }
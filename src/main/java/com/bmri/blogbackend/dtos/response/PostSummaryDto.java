@@ -0,0 +1,28 @@
+package com.bmri.blogbackend.dtos.response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Setter
+@Getter
+@AllArgsConstructor(access = AccessLevel.PUBLIC)
+public class PostSummaryDto {
+
+    private Long id;
+    private String title;
+    private String excerpt;
+    private Integer wordCount;
+    private Integer readingTimeMinutes;
+    private String category;
+    private List<String> tags;
+    private boolean published;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+
+}
@@ -0,0 +1,16 @@
+package com.bmri.blogbackend.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class PostVersionDto {
+
+    private Long id;
+    private Long version;
+    private LocalDateTime updatedAt;
+
+}
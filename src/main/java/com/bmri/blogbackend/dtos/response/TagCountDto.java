@@ -0,0 +1,13 @@
+package com.bmri.blogbackend.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TagCountDto {
+
+    private String tag;
+    private long count;
+
+}
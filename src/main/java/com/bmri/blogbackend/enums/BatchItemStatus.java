@@ -0,0 +1,7 @@
+package com.bmri.blogbackend.enums;
+
+public enum BatchItemStatus {
+    CREATED,
+    INVALID,
+    CONFLICT
+}
@@ -0,0 +1,6 @@
+package com.bmri.blogbackend.enums;
+
+public enum ReplicaSelection {
+    ROUND_ROBIN,
+    LEAST_LOADED
+}
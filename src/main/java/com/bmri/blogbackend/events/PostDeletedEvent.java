@@ -0,0 +1,4 @@
+package com.bmri.blogbackend.events;
+
+public record PostDeletedEvent(Long id) {
+}
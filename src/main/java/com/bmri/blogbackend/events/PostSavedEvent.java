@@ -0,0 +1,6 @@
+package com.bmri.blogbackend.events;
+
+import com.bmri.blogbackend.dtos.response.PostResponseDto;
+
+public record PostSavedEvent(PostResponseDto post) {
+}
@@ -3,6 +3,7 @@ package com.bmri.blogbackend.exceptions;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
@@ -59,6 +60,14 @@ public class GlobalExceptionHandler {
                 request.getDescription(false), e.getMessage());
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    StandardErrorResponse handleBadRequestException(BadRequestException e, WebRequest request) {
+        return new StandardErrorResponse(formatter.format(LocalDateTime.now()), HttpStatus.BAD_REQUEST.value(),
+                request.getDescription(false), e.getMessage());
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     @ResponseBody
@@ -75,6 +84,38 @@ public class GlobalExceptionHandler {
                 request.getDescription(false), e.getMessage());
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    @ResponseBody
+    StandardErrorResponse handlePreconditionFailedException(PreconditionFailedException e, WebRequest request) {
+        return new StandardErrorResponse(formatter.format(LocalDateTime.now()), HttpStatus.PRECONDITION_FAILED.value(),
+                request.getDescription(false), e.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    @ResponseBody
+    StandardErrorResponse handleOptimisticLockingFailureException(OptimisticLockingFailureException e, WebRequest request) {
+        return new StandardErrorResponse(formatter.format(LocalDateTime.now()), HttpStatus.PRECONDITION_FAILED.value(),
+                request.getDescription(false), "Resource was modified concurrently");
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ResponseBody
+    StandardErrorResponse handleTooManyRequestsException(TooManyRequestsException e, WebRequest request) {
+        return new StandardErrorResponse(formatter.format(LocalDateTime.now()), HttpStatus.TOO_MANY_REQUESTS.value(),
+                request.getDescription(false), e.getMessage());
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ResponseBody
+    StandardErrorResponse handleServiceUnavailableException(ServiceUnavailableException e, WebRequest request) {
+        return new StandardErrorResponse(formatter.format(LocalDateTime.now()), HttpStatus.SERVICE_UNAVAILABLE.value(),
+                request.getDescription(false), e.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ResponseBody
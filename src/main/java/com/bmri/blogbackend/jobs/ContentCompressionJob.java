@@ -0,0 +1,107 @@
+package com.bmri.blogbackend.jobs;
+
+import com.bmri.blogbackend.domain.ContentCompressionConverter;
+import com.bmri.blogbackend.domain.PostEntity;
+import com.bmri.blogbackend.dtos.response.MigrationResultDto;
+import com.bmri.blogbackend.exceptions.BadRequestException;
+import com.bmri.blogbackend.repositories.PostRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@Slf4j
+public class ContentCompressionJob {
+
+    private static final int BATCH_SIZE = 200;
+
+    private final PostRepository postRepository;
+    private final ContentCompressionConverter contentConverter;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    public ContentCompressionJob(PostRepository postRepository, ContentCompressionConverter contentConverter,
+                                 PlatformTransactionManager transactionManager, EntityManager entityManager) {
+        this.postRepository = postRepository;
+        this.contentConverter = contentConverter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+    }
+
+    // Rewrites the content of every uncompressed post above the threshold through the converter. Compressed rows are
+    // skipped, so the job can be stopped and rerun; version and updatedAt are left alone as the content is the same
+    public MigrationResultDto compressExistingContent() {
+        if (!contentConverter.isEnabled()) {
+            throw new BadRequestException("Content compression is disabled");
+        }
+        var start = System.currentTimeMillis();
+        var scanned = 0L;
+        var rewritten = 0L;
+        Long lastId = 0L;
+        while (lastId != null) {
+            var batch = compressBatchAfter(lastId);
+            scanned += batch.scanned();
+            rewritten += batch.rewritten();
+            lastId = batch.lastId();
+        }
+        log.info("compressExistingContent: Rewrote {} of {} posts in {} ms", rewritten, scanned,
+                System.currentTimeMillis() - start);
+        return new MigrationResultDto(scanned, rewritten);
+    }
+
+    private Batch compressBatchAfter(Long id) {
+        return transactionTemplate.execute(status -> {
+            var posts = postRepository.findByIdGreaterThanOrderByIdAsc(id, Limit.of(BATCH_SIZE));
+            var compressedIds = posts.isEmpty() ? Set.<Long>of()
+                    : findCompressedIds(posts.stream().map(PostEntity::getId).toList());
+            var rewritten = posts.stream()
+                    .filter(post -> !compressedIds.contains(post.getId()) && contentConverter.shouldCompress(post.getContent()))
+                    .mapToInt(post -> postRepository.rewriteContent(post.getId(), post.getContent(), post.getVersion()))
+                    .sum();
+            var lastId = posts.size() < BATCH_SIZE ? null : posts.getLast().getId();
+            return new Batch(posts.size(), rewritten, lastId);
+        });
+    }
+
+    // The stored value is read before ContentCompressionConverter decodes it, as a LOB so that only the header-length
+    // prefix is fetched. The check runs here since PostgreSQL stores the content as an oid, which SQL cannot match
+    private Set<Long> findCompressedIds(List<Long> ids) {
+        List<Object[]> rows = entityManager.createNativeQuery("select id, content from posts where id in (:ids)")
+                .unwrap(NativeQuery.class)
+                .addScalar("id", StandardBasicTypes.LONG)
+                .addScalar("content", StandardBasicTypes.CLOB)
+                .setParameter("ids", ids)
+                .getResultList();
+        var compressedIds = new HashSet<Long>();
+        for (var row : rows) {
+            if (startsWithHeader((Clob) row[1])) {
+                compressedIds.add((Long) row[0]);
+            }
+        }
+        return compressedIds;
+    }
+
+    private static boolean startsWithHeader(Clob content) {
+        try {
+            var header = ContentCompressionConverter.HEADER;
+            return content.length() >= header.length() && content.getSubString(1, header.length()).equals(header);
+        } catch (SQLException e) {
+            throw new DataRetrievalFailureException("Could not read stored post content", e);
+        }
+    }
+
+    private record Batch(int scanned, int rewritten, Long lastId) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.bmri.blogbackend.jobs;
+
+import com.bmri.blogbackend.cache.PostCache;
+import com.bmri.blogbackend.dtos.response.MigrationResultDto;
+import com.bmri.blogbackend.repositories.PostRepository;
+import com.bmri.blogbackend.utils.ContentStatsUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@Slf4j
+public class ContentStatsBackfillJob {
+
+    private static final int BATCH_SIZE = 200;
+
+    private final PostRepository postRepository;
+    private final PostCache postCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public ContentStatsBackfillJob(PostRepository postRepository, PostCache postCache,
+                                   PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.postCache = postCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Fills excerpt, word count and reading time of posts written before they were stored. Only posts without a word
+    // count are read, so the job can be stopped and rerun. updatedAt is left alone as the content is the same, but the
+    // version moves on, so rewritten posts are evicted from the post cache once their batch is committed
+    public MigrationResultDto backfillContentStats() {
+        var start = System.currentTimeMillis();
+        var scanned = 0L;
+        var rewritten = 0L;
+        Long lastId = 0L;
+        while (lastId != null) {
+            var batch = backfillBatchAfter(lastId);
+            batch.rewrittenIds().forEach(postCache::evict);
+            scanned += batch.scanned();
+            rewritten += batch.rewrittenIds().size();
+            lastId = batch.lastId();
+        }
+        log.info("backfillContentStats: Rewrote {} of {} posts in {} ms", rewritten, scanned,
+                System.currentTimeMillis() - start);
+        return new MigrationResultDto(scanned, rewritten);
+    }
+
+    private Batch backfillBatchAfter(Long id) {
+        return transactionTemplate.execute(status -> {
+            var posts = postRepository.findByWordCountIsNullAndIdGreaterThanOrderByIdAsc(id, Limit.of(BATCH_SIZE));
+            var rewrittenIds = new ArrayList<Long>();
+            for (var post : posts) {
+                var wordCount = ContentStatsUtils.wordCount(post.getContent());
+                if (postRepository.rewriteContentStats(post.getId(), ContentStatsUtils.excerpt(post.getContent()),
+                        wordCount, ContentStatsUtils.readingTimeMinutes(wordCount)) > 0) {
+                    rewrittenIds.add(post.getId());
+                }
+            }
+            var lastId = posts.size() < BATCH_SIZE ? null : posts.getLast().getId();
+            return new Batch(posts.size(), rewrittenIds, lastId);
+        });
+    }
+
+    private record Batch(int scanned, List<Long> rewrittenIds, Long lastId) {
+    }
+}
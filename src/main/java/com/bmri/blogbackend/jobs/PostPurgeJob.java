@@ -0,0 +1,52 @@
+package com.bmri.blogbackend.jobs;
+
+import com.bmri.blogbackend.repositories.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+@ConditionalOnProperty(value = "blog.posts.soft-delete.enabled", havingValue = "true")
+@Slf4j
+public class PostPurgeJob {
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public PostPurgeJob(PostRepository postRepository, PlatformTransactionManager transactionManager,
+                        @Value("${blog.posts.purge.batch-size:500}") int batchSize) {
+        this.postRepository = postRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${blog.posts.purge.cron:0 0 3 * * *}")
+    public void purgeDeletedPosts() {
+        var start = System.currentTimeMillis();
+        var purged = 0;
+        int batch;
+        do {
+            batch = purgeBatch();
+            purged += batch;
+        } while (batch == batchSize);
+        log.info("purgeDeletedPosts: Purged {} posts in {} ms", purged, System.currentTimeMillis() - start);
+    }
+
+    // One short transaction per batch so row locks are held briefly and a failure only rolls back its own batch
+    private int purgeBatch() {
+        var purged = transactionTemplate.execute(status -> {
+            var postIds = postRepository.findDeletedIds(batchSize);
+            if (postIds.isEmpty()) {
+                return 0;
+            }
+            postRepository.deleteTagsByPostIdIn(postIds);
+            return postRepository.purgeByIdIn(postIds);
+        });
+        return purged == null ? 0 : purged;
+    }
+}
@@ -2,8 +2,21 @@ package com.bmri.blogbackend.mappers;
 
 import com.bmri.blogbackend.domain.PostEntity;
 import com.bmri.blogbackend.dtos.request.PostCreateDto;
+import com.bmri.blogbackend.dtos.response.CursorPageDto;
 import com.bmri.blogbackend.dtos.response.PostResponseDto;
+import com.bmri.blogbackend.dtos.response.PostSummaryDto;
+import com.bmri.blogbackend.dtos.response.PostVersionDto;
+import com.bmri.blogbackend.repositories.projections.PostSummaryView;
+import com.bmri.blogbackend.repositories.projections.PostTagView;
+import com.bmri.blogbackend.repositories.projections.PostVersionView;
+import com.bmri.blogbackend.utils.CursorUtils;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class PostMapper {
 
@@ -16,15 +29,59 @@ public class PostMapper {
         postEntity.setId(dto.getId());
         postEntity.setCreatedAt(dto.getCreatedAt());
         postEntity.setUpdatedAt(dto.getUpdatedAt());
+        postEntity.setVersion(dto.getVersion());
         return postEntity;
     }
 
     public static PostResponseDto toDto(PostEntity entity) {
         return new PostResponseDto(entity.getId(), entity.getTitle(), entity.getContent(), entity.getCategory(),
-                entity.getTags(), entity.isPublished(), entity.getCreatedAt(), entity.getUpdatedAt());
+                entity.getTags(), entity.isPublished(), entity.getCreatedAt(), entity.getUpdatedAt(), entity.getVersion());
+    }
+
+    public static PostResponseDto toDto(PostEntity entity, List<String> tags) {
+        return new PostResponseDto(entity.getId(), entity.getTitle(), entity.getContent(), entity.getCategory(),
+                tags, entity.isPublished(), entity.getCreatedAt(), entity.getUpdatedAt(), entity.getVersion());
     }
 
     public static Page<PostResponseDto> toDto(Page<PostEntity> entities) {
         return entities.map(PostMapper::toDto);
     }
+
+    public static PostSummaryDto toSummaryDto(PostSummaryView view, List<String> tags) {
+        return new PostSummaryDto(view.getId(), view.getTitle(), view.getExcerpt(), view.getWordCount(),
+                view.getReadingTimeMinutes(), view.getCategory(), tags, view.isPublished(), view.getCreatedAt(),
+                view.getUpdatedAt(), view.getVersion());
+    }
+
+    public static Page<PostSummaryDto> toSummaryDto(Page<PostSummaryView> views, Map<Long, List<String>> tagsByPostId) {
+        return views.map(view -> toSummaryDto(view, tagsByPostId.getOrDefault(view.getId(), new ArrayList<>())));
+    }
+
+    public static CursorPageDto<PostSummaryDto> toSummaryDto(Window<PostSummaryView> views,
+                                                             Map<Long, List<String>> tagsByPostId) {
+        var content = views.map(view -> toSummaryDto(view, tagsByPostId.getOrDefault(view.getId(), new ArrayList<>())))
+                .getContent();
+        String nextCursor = null;
+        if (views.hasNext() && !content.isEmpty()) {
+            var last = content.getLast();
+            nextCursor = CursorUtils.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPageDto<>(content, content.size(), nextCursor, views.hasNext());
+    }
+
+    public static PostVersionDto toVersionDto(PostResponseDto dto) {
+        return new PostVersionDto(dto.getId(), dto.getVersion(), dto.getUpdatedAt());
+    }
+
+    public static PostVersionDto toVersionDto(PostVersionView view) {
+        return new PostVersionDto(view.getId(), view.getVersion(), view.getUpdatedAt());
+    }
+
+    public static Map<Long, List<String>> toTagsByPostId(List<PostTagView> postTags) {
+        var tagsByPostId = new HashMap<Long, List<String>>();
+        for (var postTag : postTags) {
+            tagsByPostId.computeIfAbsent(postTag.getPostId(), id -> new ArrayList<>()).add(postTag.getTag());
+        }
+        return tagsByPostId;
+    }
 }
@@ -0,0 +1,25 @@
+package com.bmri.blogbackend.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Counts the SQL statements Hibernate prepares on the current thread, so they can be attributed to a request. Only the
+// threads that dispatch the request are counted; JdbcStatementMetricsInterceptor adds up both dispatches of an async
+// request, but statements run on other threads, such as executor tasks the request hands work to, are not included
+public class JdbcStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> STATEMENTS = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.get()[0] = 0;
+    }
+
+    public static int count() {
+        return STATEMENTS.get()[0];
+    }
+}
@@ -0,0 +1,45 @@
+package com.bmri.blogbackend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+public class JdbcStatementMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String METRIC_NAME = "blog.http.jdbc.statements";
+    // Statements of the first dispatch of an async request, which completes on another thread
+    private static final String STARTED_COUNT_ATTRIBUTE = JdbcStatementMetricsInterceptor.class.getName() + ".startedCount";
+
+    private final MeterRegistry meterRegistry;
+
+    public JdbcStatementMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        JdbcStatementCounter.reset();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(STARTED_COUNT_ATTRIBUTE, JdbcStatementCounter.count());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        var uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        var startedCount = request.getAttribute(STARTED_COUNT_ATTRIBUTE);
+        DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements executed on the request threads while handling a request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri != null ? uri.toString() : "UNKNOWN")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(JdbcStatementCounter.count() + (startedCount != null ? (int) startedCount : 0));
+    }
+}
@@ -1,22 +1,130 @@
 package com.bmri.blogbackend.repositories;
 
 import com.bmri.blogbackend.domain.PostEntity;
+import com.bmri.blogbackend.repositories.projections.PostCategoryView;
+import com.bmri.blogbackend.repositories.projections.PostSummaryView;
+import com.bmri.blogbackend.repositories.projections.PostTagView;
+import com.bmri.blogbackend.repositories.projections.PostVersionView;
+import com.bmri.blogbackend.repositories.projections.TaggedPostView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends JpaRepository<PostEntity, Long> {
 
-    Page<PostEntity> getByPublished(boolean published, Pageable pageable);
+    Page<PostSummaryView> findBy(Pageable pageable);
+
+    Page<PostSummaryView> getByPublished(boolean published, Pageable pageable);
 
     Optional<PostEntity> getByTitle(String title);
 
-    Page<PostEntity> getByCategory(String category, Pageable pageable);
+    // Native so that titles still held by soft-deleted posts count as taken, as the unique constraint sees them
+    @Query(value = "select title from posts where title in (:titles)", nativeQuery = true)
+    List<String> findTitlesByTitleIn(Collection<String> titles);
+
+    @EntityGraph(attributePaths = "tags")
+    Optional<PostEntity> findWithTagsById(Long id);
+
+    Optional<PostVersionView> findVersionById(Long id);
+
+    Optional<PostVersionView> findVersionByTitle(String title);
+
+    Page<PostSummaryView> getByCategory(String category, Pageable pageable);
+
+    // Distinct, since the join on post_tags yields one row per matching tag
+    Page<PostSummaryView> getDistinctByTags(String tag, Pageable pageable);
+
+    Window<PostSummaryView> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<PostSummaryView> findByPublished(boolean published, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<PostSummaryView> findByCategory(String category, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<PostSummaryView> findDistinctByTags(String tag, ScrollPosition position, Sort sort, Limit limit);
+
+    List<PostSummaryView> findByIdIn(Collection<Long> ids);
+
+    List<PostEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<PostEntity> findByWordCountIsNullAndIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select p.id as postId, t as tag from PostEntity p join p.tags t where p.id in :postIds")
+    List<PostTagView> findTagsByPostIdIn(Collection<Long> postIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update PostEntity p set p.published = :published, p.updatedAt = :updatedAt, p.version = p.version + 1 " +
+            "where p.id = :id and (:version is null or p.version = :version)")
+    int updatePublished(Long id, boolean published, LocalDateTime updatedAt, Long version);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update PostEntity p set p.content = :content, p.excerpt = :excerpt, p.wordCount = :wordCount, " +
+            "p.readingTimeMinutes = :readingTimeMinutes, p.updatedAt = :updatedAt, p.version = p.version + 1 " +
+            "where p.id = :id and (:version is null or p.version = :version)")
+    int updateContent(Long id, String content, String excerpt, int wordCount, int readingTimeMinutes,
+                      LocalDateTime updatedAt, Long version);
+
+    // Skips posts whose content, and so its stats, was written since the backfill read it. The version moves on since
+    // the excerpt is part of the listings, whose ETags are built from it
+    @Modifying
+    @Query("update PostEntity p set p.excerpt = :excerpt, p.wordCount = :wordCount, " +
+            "p.readingTimeMinutes = :readingTimeMinutes, p.version = p.version + 1 " +
+            "where p.id = :id and p.wordCount is null")
+    int rewriteContentStats(Long id, String excerpt, int wordCount, int readingTimeMinutes);
+
+    // The content parameter goes through ContentCompressionConverter like any other write of the attribute. The version
+    // check keeps an edit committed since the content was read from being overwritten with the old text
+    @Modifying
+    @Query("update PostEntity p set p.content = :content where p.id = :id and p.version = :version")
+    int rewriteContent(Long id, String content, Long version);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from PostEntity p where p.id = :id and (:version is null or p.version = :version)")
+    int deleteByIdAndVersion(Long id, Long version);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update PostEntity p set p.deleted = true, p.updatedAt = :updatedAt, p.version = p.version + 1 " +
+            "where p.id = :id and (:version is null or p.version = :version)")
+    int softDeleteByIdAndVersion(Long id, LocalDateTime updatedAt, Long version);
+
+    // Native so that soft-deleted rows, which every entity query filters out, can be found and removed
+    @Query(value = "select id from posts where deleted = true order by id limit :limit", nativeQuery = true)
+    List<Long> findDeletedIds(int limit);
+
+    @Modifying
+    @Query(value = "delete from post_tags where post_id in (:postIds)", nativeQuery = true)
+    int deleteTagsByPostIdIn(Collection<Long> postIds);
+
+    @Modifying
+    @Query(value = "delete from posts where id in (:postIds)", nativeQuery = true)
+    int purgeByIdIn(Collection<Long> postIds);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select p from PostEntity p where (:published is null or p.published = :published) " +
+            "and (:category is null or p.category = :category) order by p.id")
+    Stream<PostEntity> streamForExport(Boolean published, String category);
+
+    List<PostCategoryView> findByCategoryIsNotNull();
 
-    Page<PostEntity> getByTagsContaining(String tag, Pageable pageable);
+    @Query("select p.id as postId, t as tag, p.published as published from PostEntity p join p.tags t")
+    List<TaggedPostView> findAllTaggedPosts();
 
 }
@@ -0,0 +1,11 @@
+package com.bmri.blogbackend.repositories.projections;
+
+public interface PostCategoryView {
+
+    Long getId();
+
+    String getCategory();
+
+    boolean isPublished();
+
+}
@@ -0,0 +1,27 @@
+package com.bmri.blogbackend.repositories.projections;
+
+import java.time.LocalDateTime;
+
+public interface PostSummaryView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getExcerpt();
+
+    Integer getWordCount();
+
+    Integer getReadingTimeMinutes();
+
+    String getCategory();
+
+    boolean isPublished();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getVersion();
+
+}
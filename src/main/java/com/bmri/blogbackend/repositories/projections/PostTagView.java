@@ -0,0 +1,9 @@
+package com.bmri.blogbackend.repositories.projections;
+
+public interface PostTagView {
+
+    Long getPostId();
+
+    String getTag();
+
+}
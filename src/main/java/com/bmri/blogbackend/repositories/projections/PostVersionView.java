@@ -0,0 +1,13 @@
+package com.bmri.blogbackend.repositories.projections;
+
+import java.time.LocalDateTime;
+
+public interface PostVersionView {
+
+    Long getId();
+
+    Long getVersion();
+
+    LocalDateTime getUpdatedAt();
+
+}
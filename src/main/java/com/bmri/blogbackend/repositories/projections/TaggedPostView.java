@@ -0,0 +1,11 @@
+package com.bmri.blogbackend.repositories.projections;
+
+public interface TaggedPostView {
+
+    Long getPostId();
+
+    String getTag();
+
+    boolean isPublished();
+
+}
@@ -0,0 +1,219 @@
+package com.bmri.blogbackend.search;
+
+import com.bmri.blogbackend.dtos.response.PostResponseDto;
+import com.bmri.blogbackend.events.PostDeletedEvent;
+import com.bmri.blogbackend.events.PostSavedEvent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class PostSearchIndex {
+
+    // Okapi BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TAG_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+    private static final int MAX_QUERY_TERMS = 32;
+
+    // Best score first, newest post first on ties
+    private static final Comparator<Map.Entry<Long, Double>> RANKING = Map.Entry.<Long, Double>comparingByValue()
+            .thenComparing(Map.Entry.comparingByKey())
+            .reversed();
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, IndexedPost> posts = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+    private Set<Long> deletedWhileLoading;
+
+    public void index(PostResponseDto post) {
+        var analyzedPost = analyze(post);
+        lock.writeLock().lock();
+        try {
+            remove(post.getId());
+            add(post.getId(), analyzedPost);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // For the initial load: a post indexed or deleted by a write event since the snapshot was read is left as it is
+    public void indexIfAbsent(PostResponseDto post) {
+        var analyzedPost = analyze(post);
+        lock.writeLock().lock();
+        try {
+            if (!posts.containsKey(post.getId()) && (deletedWhileLoading == null || !deletedWhileLoading.contains(post.getId()))) {
+                add(post.getId(), analyzedPost);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void delete(Long id) {
+        lock.writeLock().lock();
+        try {
+            remove(id);
+            if (deletedWhileLoading != null) {
+                deletedWhileLoading.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Remembers the posts deleted until finishLoad, so a snapshot read before their deletion cannot index them again
+    public void startLoad() {
+        lock.writeLock().lock();
+        try {
+            deletedWhileLoading = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void finishLoad() {
+        lock.writeLock().lock();
+        try {
+            deletedWhileLoading = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return posts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Page<Long> search(String query, Pageable pageable) {
+        var terms = SearchTokenizer.tokenize(query).stream().distinct().limit(MAX_QUERY_TERMS).toList();
+        Map<Long, Double> scores = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            if (posts.isEmpty()) {
+                return Page.empty(pageable);
+            }
+            var postCount = posts.size();
+            var averageLength = (double) totalLength / postCount;
+            for (var term : terms) {
+                var termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                var idf = Math.log(1 + (postCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+                termPostings.forEach((id, frequency) -> {
+                    var lengthNorm = 1 - B + B * posts.get(id).length() / averageLength;
+                    var score = idf * frequency * (K1 + 1) / (frequency + K1 * lengthNorm);
+                    scores.merge(id, score, Double::sum);
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return new PageImpl<>(topRanked(scores, pageable), pageable, scores.size());
+    }
+
+    @TransactionalEventListener
+    public void onPostSaved(PostSavedEvent event) {
+        index(event.post());
+    }
+
+    @TransactionalEventListener
+    public void onPostDeleted(PostDeletedEvent event) {
+        delete(event.id());
+    }
+
+    private static List<Long> topRanked(Map<Long, Double> scores, Pageable pageable) {
+        var limit = pageable.getOffset() + pageable.getPageSize();
+        if (pageable.getOffset() >= scores.size()) {
+            return List.of();
+        }
+
+        // Bounded min-heap: the worst of the current top hits sits at the head
+        var topHits = new PriorityQueue<>(RANKING.reversed());
+        for (var hit : scores.entrySet()) {
+            if (topHits.size() < limit) {
+                topHits.add(hit);
+            } else if (RANKING.compare(hit, topHits.peek()) < 0) {
+                topHits.poll();
+                topHits.add(hit);
+            }
+        }
+
+        var ranked = new ArrayList<>(topHits);
+        ranked.sort(RANKING);
+        return ranked.subList((int) pageable.getOffset(), ranked.size()).stream().map(Map.Entry::getKey).toList();
+    }
+
+    private static AnalyzedPost analyze(PostResponseDto post) {
+        var frequencies = new HashMap<String, Integer>();
+        var length = addTerms(frequencies, post.getTitle(), TITLE_WEIGHT)
+                + addTerms(frequencies, post.getContent(), CONTENT_WEIGHT);
+        if (post.getTags() != null) {
+            for (var tag : post.getTags()) {
+                length += addTerms(frequencies, tag, TAG_WEIGHT);
+            }
+        }
+        return new AnalyzedPost(frequencies, length);
+    }
+
+    private static int addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        var tokens = SearchTokenizer.tokenize(text);
+        for (var token : tokens) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private void add(Long id, AnalyzedPost analyzedPost) {
+        analyzedPost.frequencies().forEach((term, frequency) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, frequency));
+        posts.put(id, new IndexedPost(analyzedPost.frequencies().keySet().toArray(String[]::new), analyzedPost.length()));
+        totalLength += analyzedPost.length();
+    }
+
+    private void remove(Long id) {
+        var indexedPost = posts.remove(id);
+        if (indexedPost == null) {
+            return;
+        }
+        for (var term : indexedPost.terms()) {
+            var termPostings = postings.get(term);
+            termPostings.remove(id);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= indexedPost.length();
+    }
+
+    private record AnalyzedPost(Map<String, Integer> frequencies, int length) {
+    }
+
+    private record IndexedPost(String[] terms, int length) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.bmri.blogbackend.search;
+
+import com.bmri.blogbackend.mappers.PostMapper;
+import com.bmri.blogbackend.repositories.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+@Slf4j
+public class PostSearchIndexLoader {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final PostRepository postRepository;
+    private final PostSearchIndex postSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    public PostSearchIndexLoader(PostRepository postRepository, PostSearchIndex postSearchIndex,
+                                 PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.postSearchIndex = postSearchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        var start = System.currentTimeMillis();
+        postSearchIndex.startLoad();
+        try {
+            Long lastId = 0L;
+            while (lastId != null) {
+                lastId = indexBatchAfter(lastId);
+            }
+        } finally {
+            postSearchIndex.finishLoad();
+        }
+        log.info("loadIndex: Indexed {} posts in {} ms", postSearchIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    // One short transaction per batch keeps the persistence context small; posts indexed or deleted by write events
+    // while loading are newer than the database snapshot, so they are not overwritten or brought back
+    private Long indexBatchAfter(Long id) {
+        return transactionTemplate.execute(status -> {
+            var posts = postRepository.findByIdGreaterThanOrderByIdAsc(id, Limit.of(BATCH_SIZE));
+            posts.forEach(post -> postSearchIndex.indexIfAbsent(PostMapper.toDto(post)));
+            return posts.size() < BATCH_SIZE ? null : posts.get(posts.size() - 1).getId();
+        });
+    }
+}
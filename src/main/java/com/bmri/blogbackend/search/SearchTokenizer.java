@@ -0,0 +1,28 @@
+package com.bmri.blogbackend.search;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+@NoArgsConstructor(access = AccessLevel.NONE)
+public class SearchTokenizer {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    public static List<String> tokenize(String text) {
+        var tokens = new ArrayList<String>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        for (var token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,82 @@
+package com.bmri.blogbackend.services.implementations;
+
+import com.bmri.blogbackend.domain.UserEntity;
+import com.bmri.blogbackend.dtos.request.LoginRequestDto;
+import com.bmri.blogbackend.dtos.response.JwtResponseDto;
+import com.bmri.blogbackend.exceptions.ServiceUnavailableException;
+import com.bmri.blogbackend.repositories.UserRepository;
+import com.bmri.blogbackend.services.interfaces.AuthService;
+import com.bmri.blogbackend.utils.JwtUtils;
+import com.bmri.blogbackend.utils.LoginThrottle;
+import com.bmri.blogbackend.utils.PasswordEncoderUtils;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class AuthServiceImpl implements AuthService {
+
+    private final UserRepository userRepository;
+    private final JwtUtils jwtUtils;
+    private final LoginThrottle loginThrottle;
+    private final ThreadPoolExecutor passwordHashingExecutor;
+
+    public AuthServiceImpl(UserRepository userRepository, JwtUtils jwtUtils, LoginThrottle loginThrottle,
+                           @Value("${blog.auth.hashing.threads:2}") int hashingThreads,
+                           @Value("${blog.auth.hashing.queue-capacity:32}") int hashingQueueCapacity) {
+        this.userRepository = userRepository;
+        this.jwtUtils = jwtUtils;
+        this.loginThrottle = loginThrottle;
+        // BCrypt is CPU bound, so it runs on its own small pool instead of request threads;
+        // once the queue is full new logins are rejected immediately rather than piling up
+        this.passwordHashingExecutor = new ThreadPoolExecutor(hashingThreads, hashingThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(hashingQueueCapacity), new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public CompletableFuture<Optional<JwtResponseDto>> login(LoginRequestDto loginRequest, String clientAddress) {
+        var username = loginRequest.getUsername();
+        loginThrottle.reserveAttempt(username, clientAddress);
+
+        Optional<UserEntity> user;
+        CompletableFuture<Boolean> passwordMatches;
+        try {
+            user = userRepository.findByUsername(username);
+            if (user.isEmpty()) {
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+            passwordMatches = CompletableFuture.supplyAsync(
+                    () -> PasswordEncoderUtils.matches(loginRequest.getPassword(), user.get().getPassword()),
+                    passwordHashingExecutor);
+        } catch (RejectedExecutionException e) {
+            loginThrottle.release(username, clientAddress);
+            throw new ServiceUnavailableException("Login capacity exceeded, try again later", e);
+        } catch (RuntimeException e) {
+            loginThrottle.release(username, clientAddress);
+            throw e;
+        }
+
+        return passwordMatches.thenApply(matches -> {
+            if (!matches) {
+                return Optional.empty();
+            }
+            loginThrottle.recordSuccess(username, clientAddress);
+            return Optional.of(new JwtResponseDto(jwtUtils.generateToken(user.get().getUsername(), user.get().getRole())));
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        passwordHashingExecutor.shutdown();
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.bmri.blogbackend.services.implementations;
+
+import com.bmri.blogbackend.dtos.response.CategoryCountDto;
+import com.bmri.blogbackend.events.PostDeletedEvent;
+import com.bmri.blogbackend.events.PostSavedEvent;
+import com.bmri.blogbackend.repositories.PostRepository;
+import com.bmri.blogbackend.services.interfaces.CategoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@Slf4j
+public class CategoryServiceImpl implements CategoryService {
+
+    private final PostRepository postRepository;
+
+    // Last known category of every categorized post, so a write only has to apply the difference to the counts
+    private final Map<Long, CategorizedPost> categorizedPosts = new HashMap<>();
+    private final Map<String, CategoryCounts> countsByCategory = new TreeMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private Set<Long> writtenWhileLoading;
+
+    public CategoryServiceImpl(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    @Override
+    public List<CategoryCountDto> getCategories() {
+        lock.lock();
+        try {
+            return countsByCategory.entrySet().stream()
+                    .map(entry -> new CategoryCountDto(entry.getKey(), entry.getValue().total, entry.getValue().published))
+                    .toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCounts() {
+        startLoad();
+        try {
+            var loadedPosts = postRepository.findByCategoryIsNotNull();
+
+            lock.lock();
+            try {
+                // Posts saved or deleted while loading already hold a newer state than the snapshot
+                for (var post : loadedPosts) {
+                    if (!writtenWhileLoading.contains(post.getId())) {
+                        update(post.getId(), new CategorizedPost(post.getCategory(), post.isPublished()));
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            log.info("loadCounts: Loaded {} categories of {} posts", countsByCategory.size(), loadedPosts.size());
+        } finally {
+            finishLoad();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPostSaved(PostSavedEvent event) {
+        lock.lock();
+        try {
+            var post = event.post();
+            recordWrite(post.getId());
+            update(post.getId(), post.getCategory() != null ? new CategorizedPost(post.getCategory(), post.isPublished()) : null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPostDeleted(PostDeletedEvent event) {
+        lock.lock();
+        try {
+            recordWrite(event.id());
+            update(event.id(), null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Remembers the posts written until finishLoad, so a snapshot read before a write cannot bring back the old category
+    private void startLoad() {
+        lock.lock();
+        try {
+            writtenWhileLoading = new HashSet<>();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void finishLoad() {
+        lock.lock();
+        try {
+            writtenWhileLoading = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordWrite(Long id) {
+        if (writtenWhileLoading != null) {
+            writtenWhileLoading.add(id);
+        }
+    }
+
+    private void update(Long id, CategorizedPost categorizedPost) {
+        var previous = categorizedPost != null ? categorizedPosts.put(id, categorizedPost) : categorizedPosts.remove(id);
+        if (previous != null) {
+            count(previous, -1);
+        }
+        if (categorizedPost != null) {
+            count(categorizedPost, 1);
+        }
+    }
+
+    private void count(CategorizedPost categorizedPost, int delta) {
+        var counts = countsByCategory.computeIfAbsent(categorizedPost.category(), key -> new CategoryCounts());
+        counts.total += delta;
+        if (categorizedPost.published()) {
+            counts.published += delta;
+        }
+        if (counts.total == 0) {
+            countsByCategory.remove(categorizedPost.category());
+        }
+    }
+
+    private record CategorizedPost(String category, boolean published) {
+    }
+
+    private static class CategoryCounts {
+        private long total;
+        private long published;
+    }
+}
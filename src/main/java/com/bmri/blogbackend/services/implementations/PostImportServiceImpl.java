@@ -0,0 +1,125 @@
+package com.bmri.blogbackend.services.implementations;
+
+import com.bmri.blogbackend.dtos.request.PostCreateDto;
+import com.bmri.blogbackend.dtos.response.ImportLineErrorDto;
+import com.bmri.blogbackend.dtos.response.ImportResultDto;
+import com.bmri.blogbackend.enums.BatchItemStatus;
+import com.bmri.blogbackend.services.interfaces.PostImportService;
+import com.bmri.blogbackend.services.interfaces.PostService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Slf4j
+public class PostImportServiceImpl implements PostImportService {
+
+    private final PostService postService;
+    private final ObjectReader postReader;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public PostImportServiceImpl(PostService postService, ObjectMapper objectMapper,
+                                 @Value("${blog.import.chunk-size:500}") int chunkSize,
+                                 @Value("${blog.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.postService = postService;
+        this.postReader = objectMapper.readerFor(PostCreateDto.class);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    // Not transactional: each chunk is committed by its own createPosts call, so the request body is read only
+    // as fast as chunks are written and neither the transaction nor the heap grows with the size of the import
+    @Override
+    public ImportResultDto importPosts(InputStream input) {
+        var progress = new Progress();
+        var chunk = new ArrayList<PostCreateDto>(chunkSize);
+        var chunkLines = new ArrayList<Long>(chunkSize);
+
+        try (var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                progress.lines++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                var newPost = parse(line, progress);
+                if (newPost != null) {
+                    chunk.add(newPost);
+                    chunkLines.add(progress.lines);
+                }
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, chunkLines, progress);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, chunkLines, progress);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return new ImportResultDto(progress.lines, progress.created, progress.failed, progress.errors,
+                progress.failed > progress.errors.size());
+    }
+
+    private PostCreateDto parse(String line, Progress progress) {
+        try {
+            PostCreateDto newPost = postReader.readValue(line);
+            if (newPost == null) {
+                progress.reject(BatchItemStatus.INVALID, List.of("Line is not a JSON object"));
+            }
+            return newPost;
+        } catch (JsonProcessingException e) {
+            progress.reject(BatchItemStatus.INVALID, List.of("Malformed JSON: " + e.getOriginalMessage()));
+            return null;
+        }
+    }
+
+    private void importChunk(List<PostCreateDto> chunk, List<Long> chunkLines, Progress progress) {
+        var result = postService.createPosts(List.copyOf(chunk));
+        progress.created += result.getCreated();
+        for (var item : result.getItems()) {
+            if (item.getStatus() != BatchItemStatus.CREATED) {
+                progress.reject(chunkLines.get(item.getIndex()), item.getStatus(), item.getErrors());
+            }
+        }
+        log.info("importPosts: Read {} lines, created {} posts, rejected {}", progress.lines, progress.created,
+                progress.failed);
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private class Progress {
+
+        private long lines;
+        private long created;
+        private long failed;
+        private final List<ImportLineErrorDto> errors = new ArrayList<>();
+
+        private void reject(BatchItemStatus status, List<String> messages) {
+            reject(lines, status, messages);
+        }
+
+        private void reject(long line, BatchItemStatus status, List<String> messages) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportLineErrorDto(line, status, messages));
+            }
+        }
+
+    }
+
+}
@@ -1,68 +1,251 @@
 package com.bmri.blogbackend.services.implementations;
 
+import com.bmri.blogbackend.cache.PostCache;
+import com.bmri.blogbackend.datasource.ReplicaRoutingDataSource;
+import com.bmri.blogbackend.domain.PostEntity;
 import com.bmri.blogbackend.dtos.request.PostCreateDto;
+import com.bmri.blogbackend.dtos.response.BatchItemResultDto;
+import com.bmri.blogbackend.dtos.response.BatchResultDto;
+import com.bmri.blogbackend.dtos.response.CursorPageDto;
 import com.bmri.blogbackend.dtos.response.PostResponseDto;
+import com.bmri.blogbackend.dtos.response.PostSummaryDto;
+import com.bmri.blogbackend.dtos.response.PostVersionDto;
+import com.bmri.blogbackend.enums.BatchItemStatus;
+import com.bmri.blogbackend.events.PostDeletedEvent;
+import com.bmri.blogbackend.events.PostSavedEvent;
 import com.bmri.blogbackend.exceptions.ObjectNotFoundException;
+import com.bmri.blogbackend.exceptions.PreconditionFailedException;
 import com.bmri.blogbackend.mappers.PostMapper;
 import com.bmri.blogbackend.repositories.PostRepository;
+import com.bmri.blogbackend.repositories.projections.PostSummaryView;
+import com.bmri.blogbackend.search.PostSearchIndex;
 import com.bmri.blogbackend.services.interfaces.PostService;
+import com.bmri.blogbackend.utils.ContentStatsUtils;
+import com.bmri.blogbackend.utils.CursorUtils;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @Transactional(readOnly = true)
+@Timed(value = "blog.post.service", histogram = true)
 public class PostServiceImpl implements PostService {
 
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    private static final int BATCH_FLUSH_SIZE = 500;
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final PostRepository postRepository;
+    private final PostCache postCache;
+    private final PostSearchIndex postSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final boolean softDelete;
 
-    public PostServiceImpl(PostRepository postRepository) {
+    public PostServiceImpl(PostRepository postRepository, PostCache postCache, PostSearchIndex postSearchIndex,
+                           ApplicationEventPublisher eventPublisher, Validator validator, EntityManager entityManager,
+                           @Value("${blog.posts.soft-delete.enabled:false}") boolean softDelete) {
         this.postRepository = postRepository;
+        this.postCache = postCache;
+        this.postSearchIndex = postSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.softDelete = softDelete;
     }
 
     @Override
-    public Page<PostResponseDto> getAllPosts(Pageable pageable) {
-        return PostMapper.toDto(postRepository.findAll(pageable));
+    public Page<PostSummaryDto> getAllPosts(Pageable pageable) {
+        var summaries = postRepository.findBy(pageable);
+        return PostMapper.toSummaryDto(summaries, findTagsByPostId(summaries.getContent()));
     }
 
     @Override
-    public Page<PostResponseDto> getAllByPublished(boolean published, Pageable pageable) {
-        return PostMapper.toDto(postRepository.getByPublished(published, pageable));
+    public Page<PostSummaryDto> getAllByPublished(boolean published, Pageable pageable) {
+        var summaries = postRepository.getByPublished(published, pageable);
+        return PostMapper.toSummaryDto(summaries, findTagsByPostId(summaries.getContent()));
     }
 
+    // Cache misses are read from the primary: the write events that correct a stale entry have already fired by the
+    // time a lagging replica catches up
     @Override
     public PostResponseDto getPostById(Long id) {
-        var postEntity = postRepository.findById(id);
-        return postEntity.map(PostMapper::toDto).orElseThrow(() -> new ObjectNotFoundException("Post not found with ID = " + id));
+        return postCache.getById(id, key -> ReplicaRoutingDataSource.onPrimary(() -> findPostById(key)));
     }
 
     @Override
     public PostResponseDto getPostByTitle(String title) {
-        var postEntity = postRepository.getByTitle(title);
-        return postEntity.map(PostMapper::toDto).orElseThrow(() -> new ObjectNotFoundException("Post not found with title = " + title));
+        return postCache.getByTitle(title, key -> ReplicaRoutingDataSource.onPrimary(() -> {
+            var postEntity = postRepository.getByTitle(key);
+            return postEntity.map(PostMapper::toDto).orElseThrow(() -> new ObjectNotFoundException("Post not found with title = " + key));
+        }));
+    }
+
+    @Override
+    public PostVersionDto getPostVersion(Long id) {
+        var cachedPost = postCache.getIfPresent(id);
+        if (cachedPost != null) {
+            return PostMapper.toVersionDto(cachedPost);
+        }
+        return postRepository.findVersionById(id).map(PostMapper::toVersionDto)
+                .orElseThrow(() -> new ObjectNotFoundException("Post not found with ID = " + id));
+    }
+
+    @Override
+    public PostVersionDto getPostVersionByTitle(String title) {
+        var cachedPost = postCache.getIfPresent(title);
+        if (cachedPost != null) {
+            return PostMapper.toVersionDto(cachedPost);
+        }
+        return postRepository.findVersionByTitle(title).map(PostMapper::toVersionDto)
+                .orElseThrow(() -> new ObjectNotFoundException("Post not found with title = " + title));
+    }
+
+    @Override
+    public Page<PostSummaryDto> getPostsByCategory(String category, Pageable pageable) {
+        var summaries = postRepository.getByCategory(category, pageable);
+        return PostMapper.toSummaryDto(summaries, findTagsByPostId(summaries.getContent()));
+    }
+
+    @Override
+    public Page<PostSummaryDto> getPostsByTag(String tag, Pageable pageable) {
+        var summaries = postRepository.getDistinctByTags(tag, pageable);
+        return PostMapper.toSummaryDto(summaries, findTagsByPostId(summaries.getContent()));
+    }
+
+    @Override
+    public Page<PostSummaryDto> searchPosts(String query, Pageable pageable) {
+        var postIds = postSearchIndex.search(query, pageable);
+        if (postIds.getContent().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, postIds.getTotalElements());
+        }
+
+        var summaries = postRepository.findByIdIn(postIds.getContent());
+        var tagsByPostId = findTagsByPostId(summaries);
+        var summariesById = summaries.stream().collect(Collectors.toMap(PostSummaryView::getId, Function.identity()));
+
+        // Keep the index ranking and skip hits deleted since they were scored
+        var rankedSummaries = postIds.getContent().stream()
+                .map(summariesById::get)
+                .filter(Objects::nonNull)
+                .map(summary -> PostMapper.toSummaryDto(summary, tagsByPostId.getOrDefault(summary.getId(), new ArrayList<>())))
+                .toList();
+        return new PageImpl<>(rankedSummaries, pageable, postIds.getTotalElements());
+    }
+
+    @Override
+    public long exportPosts(Boolean published, String category, Consumer<PostResponseDto> sink) {
+        var exported = 0L;
+        var chunk = new ArrayList<PostEntity>(EXPORT_CHUNK_SIZE);
+        try (var posts = postRepository.streamForExport(published, category)) {
+            var iterator = posts.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+                    exported += exportChunk(chunk, sink);
+                    chunk.clear();
+                }
+            }
+        }
+        return exported;
+    }
+
+    @Override
+    public CursorPageDto<PostSummaryDto> scrollAllPosts(String after, int size) {
+        var summaries = postRepository.findBy(CursorUtils.toScrollPosition(after), KEYSET_SORT, Limit.of(size));
+        return PostMapper.toSummaryDto(summaries, findTagsByPostId(summaries.getContent()));
+    }
+
+    @Override
+    public CursorPageDto<PostSummaryDto> scrollAllByPublished(boolean published, String after, int size) {
+        var summaries = postRepository.findByPublished(published, CursorUtils.toScrollPosition(after),
+                KEYSET_SORT, Limit.of(size));
+        return PostMapper.toSummaryDto(summaries, findTagsByPostId(summaries.getContent()));
     }
 
     @Override
-    public Page<PostResponseDto> getPostsByCategory(String category, Pageable pageable) {
-        return PostMapper.toDto(postRepository.getByCategory(category, pageable));
+    public CursorPageDto<PostSummaryDto> scrollPostsByCategory(String category, String after, int size) {
+        var summaries = postRepository.findByCategory(category, CursorUtils.toScrollPosition(after),
+                KEYSET_SORT, Limit.of(size));
+        return PostMapper.toSummaryDto(summaries, findTagsByPostId(summaries.getContent()));
     }
 
     @Override
-    public Page<PostResponseDto> getPostsByTag(String tag, Pageable pageable) {
-        return PostMapper.toDto(postRepository.getByTagsContaining(tag, pageable));
+    public CursorPageDto<PostSummaryDto> scrollPostsByTag(String tag, String after, int size) {
+        var summaries = postRepository.findDistinctByTags(tag, CursorUtils.toScrollPosition(after),
+                KEYSET_SORT, Limit.of(size));
+        return PostMapper.toSummaryDto(summaries, findTagsByPostId(summaries.getContent()));
     }
 
     @Override
     @Transactional(readOnly = false)
     public PostResponseDto createPost(PostCreateDto newPost) {
-        return PostMapper.toDto(postRepository.save(PostMapper.toEntity(newPost)));
+        return publishSaved(PostMapper.toDto(postRepository.save(PostMapper.toEntity(newPost))));
     }
 
     @Override
     @Transactional(readOnly = false)
-    public PostResponseDto updatePost(Long id, PostCreateDto updatedPost) {
-        var currentPost = getPostById(id);
+    public BatchResultDto createPosts(List<PostCreateDto> newPosts) {
+        var results = new BatchItemResultDto[newPosts.size()];
+        var titles = newPosts.stream().map(PostCreateDto::getTitle).filter(Objects::nonNull).toList();
+        var takenTitles = titles.isEmpty() ? new HashSet<String>() : new HashSet<>(postRepository.findTitlesByTitleIn(titles));
+
+        var accepted = new ArrayList<Integer>();
+        for (int i = 0; i < newPosts.size(); i++) {
+            var newPost = newPosts.get(i);
+            var errors = validator.validate(newPost).stream().map(ConstraintViolation::getMessage).sorted().toList();
+            if (!errors.isEmpty()) {
+                results[i] = new BatchItemResultDto(i, BatchItemStatus.INVALID, null, errors);
+            } else if (!takenTitles.add(newPost.getTitle())) {
+                results[i] = new BatchItemResultDto(i, BatchItemStatus.CONFLICT, null,
+                        List.of("Post already exists with title = " + newPost.getTitle()));
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        // Flush and clear per chunk so the persistence context stays small; Hibernate groups each flush into JDBC batches
+        for (int from = 0; from < accepted.size(); from += BATCH_FLUSH_SIZE) {
+            var chunk = accepted.subList(from, Math.min(from + BATCH_FLUSH_SIZE, accepted.size()));
+            var entities = postRepository.saveAll(chunk.stream().map(i -> PostMapper.toEntity(newPosts.get(i))).toList());
+            postRepository.flush();
+            for (int j = 0; j < chunk.size(); j++) {
+                var savedPost = publishSaved(PostMapper.toDto(entities.get(j)));
+                results[chunk.get(j)] = new BatchItemResultDto(chunk.get(j), BatchItemStatus.CREATED, savedPost.getId(), List.of());
+            }
+            entityManager.clear();
+        }
+
+        return new BatchResultDto(accepted.size(), newPosts.size() - accepted.size(), Arrays.asList(results));
+    }
+
+    @Override
+    @Transactional(readOnly = false)
+    public PostResponseDto updatePost(Long id, PostCreateDto updatedPost, Long expectedVersion) {
+        var currentPost = findPostById(id);
+        checkVersion(currentPost, expectedVersion);
 
         if (updatedPost.getTitle() != null) {
             currentPost.setTitle(updatedPost.getTitle());
@@ -78,31 +261,93 @@ public class PostServiceImpl implements PostService {
         }
         currentPost.setPublished(updatedPost.isPublished());
 
-        return PostMapper.toDto(postRepository.save(PostMapper.toEntity(currentPost)));
+        // Flush before mapping: Hibernate only bumps @Version and sets updatedAt when the update is written
+        return publishSaved(PostMapper.toDto(postRepository.saveAndFlush(PostMapper.toEntity(currentPost))));
     }
 
     @Override
     @Transactional(readOnly = false)
-    public PostResponseDto togglePublish(Long id, boolean publish) {
-        var currentPost = getPostById(id);
-        currentPost.setPublished(publish);
-        return PostMapper.toDto(postRepository.save(PostMapper.toEntity(currentPost)));
+    public PostResponseDto togglePublish(Long id, boolean publish, Long expectedVersion) {
+        if (postRepository.updatePublished(id, publish, LocalDateTime.now(), expectedVersion) == 0) {
+            throw updateRejected(id);
+        }
+        return publishSaved(findUpdatedPost(id));
     }
 
     @Override
     @Transactional(readOnly = false)
-    public PostResponseDto updateContent(Long id, String content) {
-        var currentPost = getPostById(id);
-        currentPost.setContent(content);
-        return PostMapper.toDto(postRepository.save(PostMapper.toEntity(currentPost)));
+    public PostResponseDto updateContent(Long id, String content, Long expectedVersion) {
+        var wordCount = ContentStatsUtils.wordCount(content);
+        if (postRepository.updateContent(id, content, ContentStatsUtils.excerpt(content), wordCount,
+                ContentStatsUtils.readingTimeMinutes(wordCount), LocalDateTime.now(), expectedVersion) == 0) {
+            throw updateRejected(id);
+        }
+        return publishSaved(findUpdatedPost(id));
     }
 
     @Override
     @Transactional(readOnly = false)
-    public boolean deletePost(Long id) {
-        var currentPost = getPostById(id);
-        postRepository.delete(PostMapper.toEntity(currentPost));
+    public boolean deletePost(Long id, Long expectedVersion) {
+        // Hibernate removes the post_tags rows of the matched post in the same bulk delete
+        var deleted = softDelete
+                ? postRepository.softDeleteByIdAndVersion(id, LocalDateTime.now(), expectedVersion)
+                : postRepository.deleteByIdAndVersion(id, expectedVersion);
+        if (deleted == 0) {
+            throw updateRejected(id);
+        }
+        eventPublisher.publishEvent(new PostDeletedEvent(id));
         return true;
     }
 
+    private PostResponseDto findPostById(Long id) {
+        var postEntity = postRepository.findById(id);
+        return postEntity.map(PostMapper::toDto).orElseThrow(() -> new ObjectNotFoundException("Post not found with ID = " + id));
+    }
+
+    // The check covers the read; a change committed between the read and the write fails the @Version check on save
+    private static void checkVersion(PostResponseDto currentPost, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentPost.getVersion())) {
+            throw new PreconditionFailedException("Post with ID = " + currentPost.getId() + " is at version "
+                    + currentPost.getVersion() + ", not " + expectedVersion);
+        }
+    }
+
+    // No row matched: either the post is gone or its version moved on
+    private RuntimeException updateRejected(Long id) {
+        if (postRepository.existsById(id)) {
+            return new PreconditionFailedException("Post with ID = " + id + " was modified by another request");
+        }
+        return new ObjectNotFoundException("Post not found with ID = " + id);
+    }
+
+    // Post and tags in one select, after a targeted update that bypasses entity auditing and dirty checking
+    private PostResponseDto findUpdatedPost(Long id) {
+        return postRepository.findWithTagsById(id).map(PostMapper::toDto)
+                .orElseThrow(() -> new ObjectNotFoundException("Post not found with ID = " + id));
+    }
+
+    // Tags are loaded once per chunk and each post is detached after it is written, so memory stays flat
+    private int exportChunk(List<PostEntity> chunk, Consumer<PostResponseDto> sink) {
+        var postIds = chunk.stream().map(PostEntity::getId).toList();
+        var tagsByPostId = PostMapper.toTagsByPostId(postRepository.findTagsByPostIdIn(postIds));
+        for (var post : chunk) {
+            sink.accept(PostMapper.toDto(post, tagsByPostId.getOrDefault(post.getId(), new ArrayList<>())));
+            entityManager.detach(post);
+        }
+        return chunk.size();
+    }
+
+    private PostResponseDto publishSaved(PostResponseDto post) {
+        eventPublisher.publishEvent(new PostSavedEvent(post));
+        return post;
+    }
+
+    private Map<Long, List<String>> findTagsByPostId(List<PostSummaryView> summaries) {
+        if (summaries.isEmpty()) {
+            return Map.of();
+        }
+        var postIds = summaries.stream().map(PostSummaryView::getId).toList();
+        return PostMapper.toTagsByPostId(postRepository.findTagsByPostIdIn(postIds));
+    }
+
 }
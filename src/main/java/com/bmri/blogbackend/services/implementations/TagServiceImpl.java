@@ -0,0 +1,163 @@
+package com.bmri.blogbackend.services.implementations;
+
+import com.bmri.blogbackend.dtos.response.TagCountDto;
+import com.bmri.blogbackend.events.PostDeletedEvent;
+import com.bmri.blogbackend.events.PostSavedEvent;
+import com.bmri.blogbackend.repositories.PostRepository;
+import com.bmri.blogbackend.services.interfaces.TagService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@Slf4j
+public class TagServiceImpl implements TagService {
+
+    private static final Comparator<TagCountDto> MOST_USED_FIRST = Comparator.comparingLong(TagCountDto::getCount)
+            .reversed()
+            .thenComparing(TagCountDto::getTag);
+
+    private final PostRepository postRepository;
+
+    // Last known tags of every tagged post, so a write only has to apply the difference to the counts
+    private final Map<Long, TaggedPost> taggedPosts = new HashMap<>();
+    private final Map<String, TagCounts> countsByTag = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private Set<Long> writtenWhileLoading;
+
+    public TagServiceImpl(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    @Override
+    public List<TagCountDto> getTags(boolean publishedOnly) {
+        lock.lock();
+        try {
+            return countsByTag.entrySet().stream()
+                    .map(entry -> new TagCountDto(entry.getKey(),
+                            publishedOnly ? entry.getValue().published : entry.getValue().total))
+                    .filter(tagCount -> tagCount.getCount() > 0)
+                    .sorted(MOST_USED_FIRST)
+                    .toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCounts() {
+        startLoad();
+        var loadedPosts = new HashMap<Long, TaggedPost>();
+        try {
+            for (var taggedPost : postRepository.findAllTaggedPosts()) {
+                loadedPosts.computeIfAbsent(taggedPost.getPostId(), id -> new TaggedPost(new HashSet<>(), taggedPost.isPublished()))
+                        .tags().add(taggedPost.getTag());
+            }
+
+            lock.lock();
+            try {
+                // Posts saved or deleted while loading already hold a newer state than the snapshot
+                loadedPosts.forEach((id, taggedPost) -> {
+                    if (!writtenWhileLoading.contains(id)) {
+                        update(id, taggedPost);
+                    }
+                });
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            finishLoad();
+        }
+        log.info("loadCounts: Loaded {} tags of {} posts", countsByTag.size(), loadedPosts.size());
+    }
+
+    @TransactionalEventListener
+    public void onPostSaved(PostSavedEvent event) {
+        lock.lock();
+        try {
+            var post = event.post();
+            var tags = post.getTags() != null ? new HashSet<>(post.getTags()) : new HashSet<String>();
+            recordWrite(post.getId());
+            update(post.getId(), tags.isEmpty() ? null : new TaggedPost(tags, post.isPublished()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPostDeleted(PostDeletedEvent event) {
+        lock.lock();
+        try {
+            recordWrite(event.id());
+            update(event.id(), null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Remembers the posts written until finishLoad, so a snapshot read before a write cannot bring back the old tags
+    private void startLoad() {
+        lock.lock();
+        try {
+            writtenWhileLoading = new HashSet<>();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void finishLoad() {
+        lock.lock();
+        try {
+            writtenWhileLoading = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordWrite(Long id) {
+        if (writtenWhileLoading != null) {
+            writtenWhileLoading.add(id);
+        }
+    }
+
+    private void update(Long id, TaggedPost taggedPost) {
+        var previous = taggedPost != null ? taggedPosts.put(id, taggedPost) : taggedPosts.remove(id);
+        if (previous != null) {
+            count(previous, -1);
+        }
+        if (taggedPost != null) {
+            count(taggedPost, 1);
+        }
+    }
+
+    private void count(TaggedPost taggedPost, int delta) {
+        for (var tag : taggedPost.tags()) {
+            var counts = countsByTag.computeIfAbsent(tag, key -> new TagCounts());
+            counts.total += delta;
+            if (taggedPost.published()) {
+                counts.published += delta;
+            }
+            if (counts.total == 0) {
+                countsByTag.remove(tag);
+            }
+        }
+    }
+
+    private record TaggedPost(Set<String> tags, boolean published) {
+    }
+
+    private static class TagCounts {
+        private long total;
+        private long published;
+    }
+}
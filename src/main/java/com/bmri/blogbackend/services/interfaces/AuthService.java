@@ -0,0 +1,13 @@
+package com.bmri.blogbackend.services.interfaces;
+
+import com.bmri.blogbackend.dtos.request.LoginRequestDto;
+import com.bmri.blogbackend.dtos.response.JwtResponseDto;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface AuthService {
+
+    CompletableFuture<Optional<JwtResponseDto>> login(LoginRequestDto loginRequest, String clientAddress);
+
+}
@@ -0,0 +1,11 @@
+package com.bmri.blogbackend.services.interfaces;
+
+import com.bmri.blogbackend.dtos.response.CategoryCountDto;
+
+import java.util.List;
+
+public interface CategoryService {
+
+    List<CategoryCountDto> getCategories();
+
+}
@@ -0,0 +1,11 @@
+package com.bmri.blogbackend.services.interfaces;
+
+import com.bmri.blogbackend.dtos.response.ImportResultDto;
+
+import java.io.InputStream;
+
+public interface PostImportService {
+
+    ImportResultDto importPosts(InputStream input);
+
+}
@@ -1,32 +1,57 @@
 package com.bmri.blogbackend.services.interfaces;
 
 import com.bmri.blogbackend.dtos.request.PostCreateDto;
+import com.bmri.blogbackend.dtos.response.BatchResultDto;
+import com.bmri.blogbackend.dtos.response.CursorPageDto;
 import com.bmri.blogbackend.dtos.response.PostResponseDto;
+import com.bmri.blogbackend.dtos.response.PostSummaryDto;
+import com.bmri.blogbackend.dtos.response.PostVersionDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 public interface PostService {
 
-    Page<PostResponseDto> getAllPosts(Pageable pageable);
+    Page<PostSummaryDto> getAllPosts(Pageable pageable);
 
-    Page<PostResponseDto> getAllByPublished(boolean published, Pageable pageable);
+    Page<PostSummaryDto> getAllByPublished(boolean published, Pageable pageable);
 
     PostResponseDto getPostById(Long id);
 
     PostResponseDto getPostByTitle(String title);
 
-    Page<PostResponseDto> getPostsByCategory(String category, Pageable pageable);
+    PostVersionDto getPostVersion(Long id);
+
+    PostVersionDto getPostVersionByTitle(String title);
+
+    Page<PostSummaryDto> getPostsByCategory(String category, Pageable pageable);
+
+    Page<PostSummaryDto> getPostsByTag(String tag, Pageable pageable);
+
+    Page<PostSummaryDto> searchPosts(String query, Pageable pageable);
 
-    Page<PostResponseDto> getPostsByTag(String tag, Pageable pageable);
+    long exportPosts(Boolean published, String category, Consumer<PostResponseDto> sink);
+
+    CursorPageDto<PostSummaryDto> scrollAllPosts(String after, int size);
+
+    CursorPageDto<PostSummaryDto> scrollAllByPublished(boolean published, String after, int size);
+
+    CursorPageDto<PostSummaryDto> scrollPostsByCategory(String category, String after, int size);
+
+    CursorPageDto<PostSummaryDto> scrollPostsByTag(String tag, String after, int size);
 
     PostResponseDto createPost(PostCreateDto newPost);
 
-    PostResponseDto updatePost(Long id, PostCreateDto updatedPost);
+    BatchResultDto createPosts(List<PostCreateDto> newPosts);
+
+    PostResponseDto updatePost(Long id, PostCreateDto updatedPost, Long expectedVersion);
 
-    PostResponseDto togglePublish(Long id, boolean publish);
+    PostResponseDto togglePublish(Long id, boolean publish, Long expectedVersion);
 
-    PostResponseDto updateContent(Long id, String content);
+    PostResponseDto updateContent(Long id, String content, Long expectedVersion);
 
-    boolean deletePost(Long id);
+    boolean deletePost(Long id, Long expectedVersion);
 
 }
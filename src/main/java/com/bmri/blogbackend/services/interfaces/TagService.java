@@ -0,0 +1,11 @@
+package com.bmri.blogbackend.services.interfaces;
+
+import com.bmri.blogbackend.dtos.response.TagCountDto;
+
+import java.util.List;
+
+public interface TagService {
+
+    List<TagCountDto> getTags(boolean publishedOnly);
+
+}
@@ -0,0 +1,72 @@
+package com.bmri.blogbackend.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.NONE)
+public class ContentStatsUtils {
+
+    public static final int EXCERPT_MAX_LENGTH = 200;
+    public static final int WORDS_PER_MINUTE = 200;
+
+    private static final String ELLIPSIS = "…";
+
+    // Leading text of the content with whitespace collapsed, cut at a word boundary when it is too long
+    public static String excerpt(String content) {
+        if (content == null) {
+            return null;
+        }
+        var builder = new StringBuilder(EXCERPT_MAX_LENGTH + ELLIPSIS.length());
+        var lastWordEnd = 0;
+        var pendingSpace = false;
+        for (var i = 0; i < content.length(); i++) {
+            var c = content.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = !builder.isEmpty();
+                continue;
+            }
+            if (pendingSpace) {
+                if (builder.length() + 1 >= EXCERPT_MAX_LENGTH) {
+                    return truncate(builder, builder.length());
+                }
+                lastWordEnd = builder.length();
+                builder.append(' ');
+                pendingSpace = false;
+            }
+            if (builder.length() == EXCERPT_MAX_LENGTH) {
+                return truncate(builder, lastWordEnd > 0 ? lastWordEnd : EXCERPT_MAX_LENGTH);
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    public static int wordCount(String content) {
+        if (content == null) {
+            return 0;
+        }
+        var count = 0;
+        var inWord = false;
+        for (var i = 0; i < content.length(); i++) {
+            var whitespace = Character.isWhitespace(content.charAt(i));
+            if (!whitespace && !inWord) {
+                count++;
+            }
+            inWord = !whitespace;
+        }
+        return count;
+    }
+
+    // Whole minutes at WORDS_PER_MINUTE, rounded up so any non-empty post reads in at least one minute
+    public static int readingTimeMinutes(int wordCount) {
+        return (wordCount + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE;
+    }
+
+    private static String truncate(StringBuilder builder, int length) {
+        if (Character.isHighSurrogate(builder.charAt(length - 1))) {
+            length--;
+        }
+        builder.setLength(length);
+        return builder.append(ELLIPSIS).toString();
+    }
+}
@@ -0,0 +1,39 @@
+package com.bmri.blogbackend.utils;
+
+import com.bmri.blogbackend.exceptions.BadRequestException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+
+@NoArgsConstructor(access = AccessLevel.NONE)
+public class CursorUtils {
+
+    private static final String SEPARATOR = "|";
+
+    public static String encode(LocalDateTime createdAt, Long id) {
+        var raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetScrollPosition toScrollPosition(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separatorIndex = raw.lastIndexOf(SEPARATOR);
+            var createdAt = LocalDateTime.parse(raw.substring(0, separatorIndex));
+            var id = Long.valueOf(raw.substring(separatorIndex + 1));
+            return ScrollPosition.forward(Map.of("createdAt", createdAt, "id", id));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.bmri.blogbackend.utils;
+
+import com.bmri.blogbackend.dtos.response.CursorPageDto;
+import com.bmri.blogbackend.dtos.response.PostSummaryDto;
+import com.bmri.blogbackend.dtos.response.PostVersionDto;
+import com.bmri.blogbackend.exceptions.PreconditionFailedException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.regex.Pattern;
+
+@NoArgsConstructor(access = AccessLevel.NONE)
+public class HttpCacheUtils {
+
+    // Let browsers and CDNs store responses, but always revalidate them with the ETag
+    public static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+    private static final Pattern VERSION_ETAG = Pattern.compile("\"(\\d{1,18})-(\\d{1,18})\"");
+
+    // The id keeps a post recreated under the same title, which starts again at version 0, from matching the old ETag
+    public static String eTag(PostVersionDto version) {
+        return "\"" + version.getId() + "-" + version.getVersion() + "\"";
+    }
+
+    // Version a write to the post with this id is conditional on, or null when If-Match is absent or "*"
+    public static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        var matcher = VERSION_ETAG.matcher(ifMatch.trim());
+        if (!matcher.matches() || !matcher.group(1).equals(String.valueOf(id))) {
+            throw new PreconditionFailedException("If-Match does not match the current version of the post");
+        }
+        return Long.valueOf(matcher.group(2));
+    }
+
+    // True when Accept-Encoding lists gzip, or *, without q=0
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        var wildcard = false;
+        for (var coding : acceptEncoding.split(",")) {
+            var parts = coding.split(";");
+            var name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip")) {
+                return !isZeroQuality(parts);
+            }
+            if (name.equals("*")) {
+                wildcard = !isZeroQuality(parts);
+            }
+        }
+        return wildcard;
+    }
+
+    public static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public static String eTag(Page<PostSummaryDto> page) {
+        var prefix = page.getNumber() + ":" + page.getSize() + ":" + page.getTotalElements();
+        return eTag(prefix, page.getContent());
+    }
+
+    public static String eTag(CursorPageDto<PostSummaryDto> page) {
+        return eTag(page.getNextCursor() + ":" + page.isHasNext(), page.getContent());
+    }
+
+    private static boolean isZeroQuality(String[] parts) {
+        for (var i = 1; i < parts.length; i++) {
+            var parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) == 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String eTag(String prefix, List<PostSummaryDto> posts) {
+        var builder = new StringBuilder(prefix);
+        for (var post : posts) {
+            builder.append('|').append(post.getId()).append('-').append(post.getVersion());
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -1,10 +1,13 @@
 package com.bmri.blogbackend.utils;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,6 +17,7 @@ import java.io.IOException;
 import java.util.List;
 
 @AllArgsConstructor
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
@@ -22,33 +26,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        var path = request.getRequestURI();
-        if (isPublicPath(path)) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-
         var header = request.getHeader("Authorization");
         if (header != null && header.startsWith("Bearer ")) {
             var token = header.substring(7);
-            var username = jwtUtils.getUsernameFromToken(token);
-            var role = jwtUtils.getRoleFromToken(token);
-            var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-            if (username != null) {
-                var auth = new UsernamePasswordAuthenticationToken(username, null, authorities);
-                SecurityContextHolder.getContext().setAuthentication(auth);
-
+            try {
+                var claims = jwtUtils.getClaims(token);
+                var username = claims.getSubject();
+                var role = claims.get("role", String.class);
+                if (username != null) {
+                    var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+                    var auth = new UsernamePasswordAuthenticationToken(username, null, authorities);
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("doFilterInternal: Ignoring invalid token: {}", e.getMessage());
             }
         }
         filterChain.doFilter(request, response);
     }
 
+    // SecurityConfig permits these routes to everyone, so there is no need to verify a token for them
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        var path = request.getRequestURI();
+        return isPublicPath(path) || (HttpMethod.GET.matches(request.getMethod()) && !path.startsWith("/admin")
+                && !path.startsWith("/actuator"));
+    }
+
     private boolean isPublicPath(String path) {
         return path.startsWith("/login")
                 || path.startsWith("/swagger-ui")
                 || path.startsWith("/v3/api-docs")
                 || path.startsWith("/api-docs")
                 || path.startsWith("/posts/all")
-                || path.startsWith("/h2-console");
+                || path.startsWith("/h2-console")
+                || path.equals("/actuator/health");
     }
 }
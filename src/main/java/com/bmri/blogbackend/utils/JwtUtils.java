@@ -1,32 +1,67 @@
 package com.bmri.blogbackend.utils;
 
 import com.bmri.blogbackend.enums.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
-import lombok.AccessLevel;
-import lombok.NoArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@NoArgsConstructor(access = AccessLevel.NONE)
 public class JwtUtils {
 
     @Value("${jwt.secret}")
     private String secret;
 
+    @Value("${blog.cache.tokens.maximum-size:10000}")
+    private long cacheMaximumSize;
+
     private Key key;
 
+    private JwtParser parser;
+
+    // Tokens whose signature was already verified, each kept until its own expiration
+    private Cache<String, Claims> verifiedTokens;
+
     private static final long EXPIRATION_TIME = 86400000;
 
+    private final MeterRegistry meterRegistry;
+
+    // Signature verification of tokens missing from the cache; hits show up in the cache metrics
+    private final Timer verificationTimer;
+
+    public JwtUtils(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.verificationTimer = Timer.builder("blog.jwt.verification")
+                .description("Time spent verifying JWT signatures")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verifiedTokens");
     }
 
     public String generateToken(String username, Role role) {
@@ -39,18 +74,40 @@ public class JwtUtils {
     }
 
     public String getUsernameFromToken(String token) {
-        return getTokenBody(token).getSubject();
+        return getClaims(token).getSubject();
     }
 
     public String getRoleFromToken(String token) {
-        return getTokenBody(token).get("role", String.class);
+        return getClaims(token).get("role", String.class);
     }
 
-    private Claims getTokenBody(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public Claims getClaims(String token) {
+        var claims = verifiedTokens.getIfPresent(token);
+        if (claims == null) {
+            claims = verificationTimer.record(() -> parser.parseClaimsJws(token).getBody());
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(token, claims);
+            }
+        }
+        return claims;
+    }
+
+    private static class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            var remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
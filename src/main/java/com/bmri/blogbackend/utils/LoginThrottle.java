@@ -0,0 +1,74 @@
+package com.bmri.blogbackend.utils;
+
+import com.bmri.blogbackend.exceptions.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class LoginThrottle {
+
+    private static final int MAXIMUM_TRACKED_KEYS = 100_000;
+
+    private final Cache<String, AtomicInteger> failuresByUsername;
+    private final Cache<String, AtomicInteger> failuresByAddress;
+    private final int maxUsernameFailures;
+    private final int maxAddressFailures;
+
+    public LoginThrottle(@Value("${blog.auth.throttle.max-username-failures:5}") int maxUsernameFailures,
+                         @Value("${blog.auth.throttle.max-address-failures:20}") int maxAddressFailures,
+                         @Value("${blog.auth.throttle.window:15m}") Duration window) {
+        this.maxUsernameFailures = maxUsernameFailures;
+        this.maxAddressFailures = maxAddressFailures;
+        this.failuresByUsername = Caffeine.newBuilder().maximumSize(MAXIMUM_TRACKED_KEYS).expireAfterWrite(window).build();
+        this.failuresByAddress = Caffeine.newBuilder().maximumSize(MAXIMUM_TRACKED_KEYS).expireAfterWrite(window).build();
+    }
+
+    // Counts the attempt before the password is verified, so a parallel burst cannot pass the check before any of its
+    // failures is recorded. A failed attempt keeps its reservation; see recordSuccess and release
+    public void reserveAttempt(String username, String address) {
+        if (!reserve(failuresByUsername, username, maxUsernameFailures)) {
+            throw new TooManyRequestsException("Too many failed login attempts, try again later");
+        }
+        if (!reserve(failuresByAddress, address, maxAddressFailures)) {
+            release(failuresByUsername, username);
+            throw new TooManyRequestsException("Too many failed login attempts, try again later");
+        }
+    }
+
+    public void recordSuccess(String username, String address) {
+        if (username != null) {
+            failuresByUsername.invalidate(username);
+        }
+        release(failuresByAddress, address);
+    }
+
+    // For attempts that ended without verifying the password
+    public void release(String username, String address) {
+        release(failuresByUsername, username);
+        release(failuresByAddress, address);
+    }
+
+    private static boolean reserve(Cache<String, AtomicInteger> failures, String key, int maxFailures) {
+        if (key == null) {
+            return true;
+        }
+        var count = failures.asMap().computeIfAbsent(key, k -> new AtomicInteger());
+        if (count.incrementAndGet() > maxFailures) {
+            count.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private static void release(Cache<String, AtomicInteger> failures, String key) {
+        var count = key != null ? failures.getIfPresent(key) : null;
+        if (count != null) {
+            count.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+-- Columns added to the entities after the baseline. Existing rows start at version 0 so the first optimistic-lock
+-- update compares against a value rather than null
+
+alter table posts add column version bigint;
+update posts set version = 0;
+
+alter table users add column version bigint;
+update users set version = 0;
+
+-- Soft delete: every entity query filters on deleted = false
+alter table posts add column deleted boolean default false not null;
+
+-- Denormalised content stats; null until written on save or by the backfill job
+alter table posts add column excerpt varchar(201);
+alter table posts add column word_count integer;
+alter table posts add column reading_time_minutes integer;
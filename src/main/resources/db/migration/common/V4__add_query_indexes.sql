@@ -0,0 +1,18 @@
+-- One index per PostRepository access path. Every entity query also filters on deleted = false, and the cursor
+-- endpoints order by created_at desc, id desc, so both follow the equality columns
+
+-- findBy (cursor) and the soft-delete filter of every unfiltered listing
+create index idx_posts_deleted_created_at on posts (deleted, created_at desc, id desc);
+
+-- getByPublished, findByPublished
+create index idx_posts_published_created_at on posts (published, deleted, created_at desc, id desc);
+
+-- getByCategory, findByCategory, findByCategoryIsNotNull
+create index idx_posts_category_created_at on posts (category, deleted, created_at desc, id desc);
+
+-- getByTags, findByTags: the matching post ids come straight from the index
+drop index if exists idx_post_tags_tag;
+create index idx_post_tags_tag_post_id on post_tags (tag, post_id);
+
+-- findTagsByPostIdIn after every listing, and the post_tags deletes; PostgreSQL does not index foreign keys itself
+create index idx_post_tags_post_id_tag on post_tags (post_id, tag);
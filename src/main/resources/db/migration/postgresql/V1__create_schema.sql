@@ -0,0 +1,32 @@
+-- Schema as Hibernate generated it before migrations took over. Databases created that way are baselined at this
+-- version and only run the later migrations
+
+create table posts (
+    id bigint generated by default as identity,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    title varchar(255) not null unique,
+    content oid not null,
+    category varchar(255),
+    published boolean not null,
+    primary key (id)
+);
+
+create table post_tags (
+    post_id bigint not null,
+    tag varchar(255)
+);
+
+create table users (
+    id bigint generated by default as identity,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    username varchar(255) not null unique,
+    password varchar(255) not null,
+    role varchar(255) not null check (role in ('ADMIN')),
+    first_name varchar(255),
+    last_name varchar(255),
+    primary key (id)
+);
+
+alter table post_tags add constraint fk_post_tags_post_id foreign key (post_id) references posts;
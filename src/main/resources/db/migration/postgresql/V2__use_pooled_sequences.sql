@@ -0,0 +1,10 @@
+-- Ids move from IDENTITY to one pooled sequence per table (allocation size 50) so inserts can be batched. Hibernate
+-- treats each value it reads as the top of a block of 50 ids, so the next value has to clear max(id) by a whole block
+
+alter table posts alter column id drop identity;
+create sequence posts_seq start with 1 increment by 50;
+select setval('posts_seq', (select coalesce(max(id), 0) + 50 from posts), false);
+
+alter table users alter column id drop identity;
+create sequence users_seq start with 1 increment by 50;
+select setval('users_seq', (select coalesce(max(id), 0) + 50 from users), false);
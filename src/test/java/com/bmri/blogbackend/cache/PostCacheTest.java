@@ -0,0 +1,114 @@
+package com.bmri.blogbackend.cache;
+
+import com.bmri.blogbackend.dtos.response.PostResponseDto;
+import com.bmri.blogbackend.events.PostDeletedEvent;
+import com.bmri.blogbackend.events.PostSavedEvent;
+import com.bmri.blogbackend.exceptions.ObjectNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostCacheTest {
+
+    private PostCache postCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        postCache = new PostCache(100, Duration.ofMinutes(10));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testSavedEventRefreshesEntry() {
+        postCache.getById(1L, id -> load(id, "post1", "content1"));
+
+        postCache.onPostSaved(new PostSavedEvent(post(1L, "post1", "updated")));
+
+        assertEquals("updated", postCache.getById(1L, id -> load(id, "post1", "content1")).getContent());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testDeletedEventEvictsEntry() {
+        postCache.getById(1L, id -> load(id, "post1", "content1"));
+
+        postCache.onPostDeleted(new PostDeletedEvent(1L));
+
+        assertThrows(ObjectNotFoundException.class, () -> postCache.getById(1L, id -> {
+            throw new ObjectNotFoundException("Post not found");
+        }));
+        assertThrows(ObjectNotFoundException.class, () -> postCache.getByTitle("post1", title -> {
+            throw new ObjectNotFoundException("Post not found");
+        }));
+    }
+
+    @Test
+    void testRenamedPostIsNotServedByOldTitle() {
+        postCache.getByTitle("post1", title -> load(1L, title, "content1"));
+
+        postCache.onPostSaved(new PostSavedEvent(post(1L, "renamed", "content1")));
+
+        assertThrows(ObjectNotFoundException.class, () -> postCache.getByTitle("post1", title -> {
+            throw new ObjectNotFoundException("Post not found");
+        }));
+        assertEquals(1L, postCache.getByTitle("renamed", title -> load(2L, title, "other")).getId());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testOlderSavedEventDoesNotReplaceNewerEntry() {
+        postCache.onPostSaved(new PostSavedEvent(post(1L, "renamed", "content2", 2L)));
+
+        postCache.onPostSaved(new PostSavedEvent(post(1L, "post1", "content1", 1L)));
+
+        assertEquals("content2", postCache.getIfPresent(1L).getContent());
+        assertNull(postCache.getIfPresent("post1"));
+        assertEquals(1L, postCache.getIfPresent("renamed").getId());
+    }
+
+    @Test
+    void testPostDeletedDuringLoadIsNotCached() {
+        var loaded = postCache.getById(1L, id -> {
+            postCache.onPostDeleted(new PostDeletedEvent(id));
+            return load(id, "post1", "content1");
+        });
+
+        assertEquals(1L, loaded.getId());
+        assertNull(postCache.getIfPresent(1L));
+    }
+
+    @Test
+    void testStatsCountHitsAndMisses() {
+        postCache.getById(1L, id -> load(id, "post1", "content1"));
+        postCache.getById(1L, id -> load(id, "post1", "content1"));
+
+        var stats = postCache.getStats().getFirst();
+
+        assertEquals("postsById", stats.getName());
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getSize());
+    }
+
+    private PostResponseDto load(Long id, String title, String content) {
+        loads.incrementAndGet();
+        return post(id, title, content);
+    }
+
+    private static PostResponseDto post(Long id, String title, String content) {
+        return post(id, title, content, 0L);
+    }
+
+    private static PostResponseDto post(Long id, String title, String content, Long version) {
+        return new PostResponseDto(id, title, content, "category", List.of("tag"), true,
+                LocalDateTime.now(), LocalDateTime.now(), version);
+    }
+
+}
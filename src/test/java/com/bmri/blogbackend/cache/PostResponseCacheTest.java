@@ -0,0 +1,86 @@
+package com.bmri.blogbackend.cache;
+
+import com.bmri.blogbackend.dtos.response.PostResponseDto;
+import com.bmri.blogbackend.events.PostDeletedEvent;
+import com.bmri.blogbackend.events.PostSavedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostResponseCacheTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private PostResponseCache postResponseCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        postResponseCache = new PostResponseCache(objectMapper, DataSize.ofMegabytes(1), DataSize.ofKilobytes(1));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testSameVersionReusesBody() {
+        var first = postResponseCache.get(1L, 0L, () -> load(1L, 0L, "content1"));
+        var second = postResponseCache.get(1L, 0L, () -> load(1L, 0L, "content1"));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testNewerVersionReloadsBody() throws IOException {
+        postResponseCache.get(1L, 0L, () -> load(1L, 0L, "content1"));
+
+        var body = postResponseCache.get(1L, 1L, () -> load(1L, 1L, "updated"));
+
+        assertEquals(2, loads.get());
+        assertEquals(1L, body.version().getVersion());
+        assertEquals("updated", objectMapper.readTree(body.json()).get("content").asText());
+    }
+
+    @Test
+    void testSavedAndDeletedEventsEvictBody() {
+        postResponseCache.get(1L, 0L, () -> load(1L, 0L, "content1"));
+        postResponseCache.onPostSaved(new PostSavedEvent(post(1L, 0L, "content1")));
+        postResponseCache.get(1L, 0L, () -> load(1L, 0L, "content1"));
+        postResponseCache.onPostDeleted(new PostDeletedEvent(1L));
+        postResponseCache.get(1L, 0L, () -> load(1L, 0L, "content1"));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testOnlyLargeBodiesAreGzipped() throws IOException {
+        var small = postResponseCache.get(1L, 0L, () -> load(1L, 0L, "content1"));
+        var large = postResponseCache.get(2L, 0L, () -> load(2L, 0L, "content ".repeat(500)));
+
+        assertNull(small.gzip());
+        assertNotNull(large.gzip());
+        assertTrue(large.gzip().length < large.json().length);
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(large.gzip()))) {
+            assertArrayEquals(large.json(), gzip.readAllBytes());
+        }
+    }
+
+    private PostResponseDto load(Long id, Long version, String content) {
+        loads.incrementAndGet();
+        return post(id, version, content);
+    }
+
+    private static PostResponseDto post(Long id, Long version, String content) {
+        return new PostResponseDto(id, "post" + id, content, "category1", List.of("tag1"), true,
+                LocalDateTime.now(), LocalDateTime.now(), version);
+    }
+}
@@ -0,0 +1,88 @@
+package com.bmri.blogbackend.controllers;
+
+import com.bmri.blogbackend.config.SecurityConfig;
+import com.bmri.blogbackend.dtos.response.JwtResponseDto;
+import com.bmri.blogbackend.exceptions.ServiceUnavailableException;
+import com.bmri.blogbackend.exceptions.TooManyRequestsException;
+import com.bmri.blogbackend.services.interfaces.AuthService;
+import com.bmri.blogbackend.utils.JwtUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.h2.H2ConsoleProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@WebMvcTest(AuthController.class)
+@Import(SecurityConfig.class)
+@EnableConfigurationProperties(H2ConsoleProperties.class)
+class AuthControllerTest {
+
+    private static final String LOGIN_BODY = "{\"username\": \"admin\", \"password\": \"secret\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AuthService authService;
+
+    @MockitoBean
+    private JwtUtils jwtUtils;
+
+    @Test
+    void testLogin() throws Exception {
+        when(authService.login(any(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(new JwtResponseDto("token"))));
+
+        var result = mockMvc.perform(MockMvcRequestBuilders.post("/login")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE).content(LOGIN_BODY))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.token").value("token"));
+    }
+
+    @Test
+    void testLoginInvalidCredentials() throws Exception {
+        when(authService.login(any(), anyString())).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        var result = mockMvc.perform(MockMvcRequestBuilders.post("/login")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE).content(LOGIN_BODY))
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+    }
+
+    @Test
+    void testLoginThrottled() throws Exception {
+        when(authService.login(any(), anyString())).thenThrow(new TooManyRequestsException("Too many failed login attempts"));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/login")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE).content(LOGIN_BODY))
+                .andExpect(MockMvcResultMatchers.status().isTooManyRequests());
+    }
+
+    @Test
+    void testLoginSaturated() throws Exception {
+        when(authService.login(any(), anyString())).thenThrow(new ServiceUnavailableException("Login capacity exceeded"));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/login")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE).content(LOGIN_BODY))
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable());
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.bmri.blogbackend.controllers;
+
+import com.bmri.blogbackend.dtos.response.CategoryCountDto;
+import com.bmri.blogbackend.services.interfaces.CategoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@WebMvcTest(CategoryController.class)
+@WithMockUser(username = "user", roles = {"USER"})
+class CategoryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CategoryService categoryService;
+
+    @Test
+    void testGetCategories() throws Exception {
+        when(categoryService.getCategories()).thenReturn(List.of(new CategoryCountDto("category1", 3, 2),
+                new CategoryCountDto("category2", 1, 0)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/categories"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].category").value("category1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].total").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].published").value(2));
+
+        verify(categoryService, times(1)).getCategories();
+    }
+
+}
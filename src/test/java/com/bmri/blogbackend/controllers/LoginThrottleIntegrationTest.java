@@ -0,0 +1,49 @@
+package com.bmri.blogbackend.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Runs on a real port, since X-Forwarded-For is applied by Tomcat's RemoteIpValve and MockMvc bypasses it
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "jwt.secret=login-throttle-secret-login-throttle-secret-login-throttle",
+        "blog.auth.throttle.max-address-failures=2",
+        "blog.auth.throttle.max-username-failures=100"
+})
+class LoginThrottleIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void testClientsBehindProxyAreThrottledSeparately() throws Exception {
+        assertEquals(401, login("unknown", "203.0.113.10"));
+        assertEquals(401, login("unknown", "203.0.113.10"));
+        assertEquals(429, login("unknown", "203.0.113.10"));
+
+        // Same proxy connection, different client
+        assertEquals(401, login("unknown", "203.0.113.20"));
+    }
+
+    private int login(String username, String forwardedFor) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", forwardedFor)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\": \"" + username + "\", \"password\": \"wrong-password\"}"))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.bmri.blogbackend.controllers;
+
+import com.bmri.blogbackend.dtos.request.PostCreateDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+@SpringBootTest(properties = "jwt.secret=controller-test-secret-controller-test-secret-controller")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = "admin", roles = {"ADMIN"})
+class PostControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testUpdatePostETagIsAcceptedByNextWrite() throws Exception {
+        var newPost = new PostCreateDto("chained writes", "content", "category", List.of("tag"), false);
+        var created = mockMvc.perform(MockMvcRequestBuilders.post("/posts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newPost)))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn().getResponse();
+        var id = objectMapper.readTree(created.getContentAsString()).get("id").asLong();
+
+        var updatedPost = new PostCreateDto("chained writes", "updated content", "category", List.of("tag"), false);
+        var updateETag = mockMvc.perform(MockMvcRequestBuilders.put("/posts/" + id)
+                        .header(HttpHeaders.IF_MATCH, created.getHeader(HttpHeaders.ETAG))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedPost)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(created.getHeader(HttpHeaders.ETAG), updateETag);
+
+        mockMvc.perform(MockMvcRequestBuilders.patch("/posts/" + id + "/publish")
+                        .param("publish", "true")
+                        .header(HttpHeaders.IF_MATCH, updateETag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.published").value(true));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/" + id))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.content").value("updated content"))
+                .andExpect(jsonPath("$.version").value(2));
+    }
+
+}
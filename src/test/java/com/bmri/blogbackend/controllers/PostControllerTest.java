@@ -1,19 +1,36 @@
 package com.bmri.blogbackend.controllers;
 
+import com.bmri.blogbackend.cache.PostResponseCache;
 import com.bmri.blogbackend.dtos.request.PostCreateDto;
+import com.bmri.blogbackend.dtos.response.BatchItemResultDto;
+import com.bmri.blogbackend.dtos.response.BatchResultDto;
+import com.bmri.blogbackend.dtos.response.CursorPageDto;
+import com.bmri.blogbackend.dtos.response.ImportLineErrorDto;
+import com.bmri.blogbackend.dtos.response.ImportResultDto;
 import com.bmri.blogbackend.dtos.response.PostResponseDto;
+import com.bmri.blogbackend.dtos.response.PostSummaryDto;
+import com.bmri.blogbackend.dtos.response.PostVersionDto;
+import com.bmri.blogbackend.enums.BatchItemStatus;
+import com.bmri.blogbackend.domain.PostEntity;
 import com.bmri.blogbackend.exceptions.ObjectNotFoundException;
+import com.bmri.blogbackend.exceptions.PreconditionFailedException;
+import com.bmri.blogbackend.mappers.PostMapper;
+import com.bmri.blogbackend.services.interfaces.PostImportService;
 import com.bmri.blogbackend.services.interfaces.PostService;
+import com.bmri.blogbackend.utils.HttpCacheUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -21,10 +38,18 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -32,6 +57,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
 @WebMvcTest(PostController.class)
+@Import(PostResponseCache.class)
 @WithMockUser(username = "user", roles = {"USER"})
 class PostControllerTest {
 
@@ -41,34 +67,46 @@ class PostControllerTest {
     @MockitoBean
     private PostService postService;
 
+    @MockitoBean
+    private PostImportService postImportService;
+
     private static List<PostResponseDto> postResponseDtos;
-    private static Page<PostResponseDto> postResponseDtoPage;
-    private static Page<PostResponseDto> publishedPostResponseDtoPage;
-    private static Page<PostResponseDto> categoryPostResponseDtoPage;
-    private static Page<PostResponseDto> tagPostResponseDtoPage;
+    private static List<PostSummaryDto> postSummaryDtos;
+    private static Page<PostSummaryDto> postResponseDtoPage;
+    private static Page<PostSummaryDto> publishedPostResponseDtoPage;
+    private static Page<PostSummaryDto> categoryPostResponseDtoPage;
+    private static Page<PostSummaryDto> tagPostResponseDtoPage;
     private static Pageable pageRequest;
     private static PostCreateDto postCreateDto;
     private static PostCreateDto invalidPostCreateDto;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private PostResponseCache postResponseCache;
 
     @BeforeEach
     void setUp() {
+        postResponseCache.evictAll();
         var post1 = new PostResponseDto(1L, "post1", "content1", "category1",
-                List.of("tag1", "tag2"), false, LocalDateTime.now(), LocalDateTime.now());
+                List.of("tag1", "tag2"), false, LocalDateTime.now(), LocalDateTime.now(), 0L);
 
         var post2 = new PostResponseDto(2L, "post2", "content2", "category2",
-                List.of("tag3", "tag4"), true, LocalDateTime.now(), LocalDateTime.now());
+                List.of("tag3", "tag4"), true, LocalDateTime.now(), LocalDateTime.now(), 0L);
 
         postResponseDtos = List.of(post1, post2);
+        postSummaryDtos = postResponseDtos.stream()
+                .map(post -> new PostSummaryDto(post.getId(), post.getTitle(), post.getContent(), 1, 1,
+                        post.getCategory(), post.getTags(), post.isPublished(), post.getCreatedAt(), post.getUpdatedAt(),
+                        post.getVersion()))
+                .toList();
         pageRequest = PageRequest.of(0, 2);
-        postResponseDtoPage = new PageImpl<>(postResponseDtos, pageRequest, postResponseDtos.size());
-        publishedPostResponseDtoPage = new PageImpl<>(postResponseDtos.stream()
-                .filter(PostResponseDto::isPublished).toList(), pageRequest, postResponseDtos.size());
-        categoryPostResponseDtoPage = new PageImpl<>(postResponseDtos.stream()
-                .filter(postResponseDto -> postResponseDto.getCategory().equals("category1")).toList(), pageRequest, postResponseDtos.size());
-        tagPostResponseDtoPage = new PageImpl<>(postResponseDtos.stream()
-                .filter(postResponseDto -> postResponseDto.getTags().equals(List.of("tag1", "tag2"))).toList(), pageRequest, postResponseDtos.size());
+        postResponseDtoPage = new PageImpl<>(postSummaryDtos, pageRequest, postSummaryDtos.size());
+        publishedPostResponseDtoPage = new PageImpl<>(postSummaryDtos.stream()
+                .filter(PostSummaryDto::isPublished).toList(), pageRequest, postSummaryDtos.size());
+        categoryPostResponseDtoPage = new PageImpl<>(postSummaryDtos.stream()
+                .filter(postSummaryDto -> postSummaryDto.getCategory().equals("category1")).toList(), pageRequest, postSummaryDtos.size());
+        tagPostResponseDtoPage = new PageImpl<>(postSummaryDtos.stream()
+                .filter(postSummaryDto -> postSummaryDto.getTags().equals(List.of("tag1", "tag2"))).toList(), pageRequest, postSummaryDtos.size());
         postCreateDto = new PostCreateDto("newPost", "newContent", "newCategory",
                 List.of("newTag1", "newTag2"), false);
         invalidPostCreateDto = new PostCreateDto(null, "newContent", "newCategory",
@@ -82,11 +120,29 @@ class PostControllerTest {
         mockMvc.perform(MockMvcRequestBuilders.get("/posts/all"))
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON_VALUE))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()").value(postResponseDtoPage.getTotalElements()));
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()").value(postResponseDtoPage.getTotalElements()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].title").value("post1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].excerpt").value("content1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].readingTimeMinutes").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].content").doesNotExist());
 
         verify(postService, times(1)).getAllPosts(any(Pageable.class));
     }
 
+    @Test
+    void testGetAllPostsNotModified() throws Exception {
+        when(postService.getAllPosts(any(Pageable.class))).thenReturn(postResponseDtoPage);
+
+        var eTag = mockMvc.perform(MockMvcRequestBuilders.get("/posts/all"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/all").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
     @Test
     void testGetAllByPublished() throws Exception {
         when(postService.getAllByPublished(anyBoolean(), any(Pageable.class))).thenReturn(publishedPostResponseDtoPage);
@@ -103,12 +159,17 @@ class PostControllerTest {
     @Test
     void testGetPostById() throws Exception {
         var expectedPost = postResponseDtos.getFirst();
+        var version = new PostVersionDto(expectedPost.getId(), 0L, expectedPost.getUpdatedAt());
 
+        when(postService.getPostVersion(anyLong())).thenReturn(version);
         when(postService.getPostById(anyLong())).thenReturn(postResponseDtos.getFirst());
 
         mockMvc.perform(MockMvcRequestBuilders.get("/posts/1"))
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().string(HttpHeaders.ETAG, HttpCacheUtils.eTag(version)))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(expectedPost.getId()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.title").value(expectedPost.getTitle()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.content").value(expectedPost.getContent()))
@@ -120,24 +181,115 @@ class PostControllerTest {
         verify(postService, times(1)).getPostById(anyLong());
     }
 
+    @Test
+    void testGetPostByIdReusesCachedBody() throws Exception {
+        var expectedPost = postResponseDtos.getFirst();
+        var version = new PostVersionDto(expectedPost.getId(), 0L, expectedPost.getUpdatedAt());
+
+        when(postService.getPostVersion(anyLong())).thenReturn(version);
+        when(postService.getPostById(anyLong())).thenReturn(expectedPost);
+
+        for (var i = 0; i < 2; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.get("/posts/1"))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(expectedPost.getId()));
+        }
+
+        verify(postService, times(1)).getPostById(anyLong());
+    }
+
+    @Test
+    void testGetPostByIdGzip() throws Exception {
+        var expectedPost = new PostResponseDto(1L, "post1", "content ".repeat(500), "category1",
+                List.of("tag1"), true, LocalDateTime.now(), LocalDateTime.now(), 3L);
+
+        when(postService.getPostVersion(anyLong())).thenReturn(PostMapper.toVersionDto(expectedPost));
+        when(postService.getPostById(anyLong())).thenReturn(expectedPost);
+
+        var body = mockMvc.perform(MockMvcRequestBuilders.get("/posts/1").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            var post = objectMapper.readTree(gzip);
+            assertEquals(expectedPost.getContent(), post.get("content").asText());
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/1").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content").value(expectedPost.getContent()));
+
+        verify(postService, times(1)).getPostById(anyLong());
+    }
+
     @Test
     void testGetPostByIdNotFound() throws Exception {
-        when(postService.getPostById(anyLong())).thenThrow(new ObjectNotFoundException("Post not found"));
+        when(postService.getPostVersion(anyLong())).thenThrow(new ObjectNotFoundException("Post not found"));
 
         mockMvc.perform(MockMvcRequestBuilders.get("/posts/1"))
                 .andExpect(MockMvcResultMatchers.status().isNotFound());
 
-        assertThatThrownBy(() -> postService.getPostById(anyLong()))
+        assertThatThrownBy(() -> postService.getPostVersion(anyLong()))
                 .isInstanceOf(ObjectNotFoundException.class)
                 .hasMessage("Post not found");
 
-        verify(postService, times(2)).getPostById(anyLong());
+        verify(postService, times(2)).getPostVersion(anyLong());
+        verify(postService, never()).getPostById(anyLong());
+    }
+
+    @Test
+    void testGetPostByIdNotModified() throws Exception {
+        var version = new PostVersionDto(1L, 0L, postResponseDtos.getFirst().getUpdatedAt());
+
+        when(postService.getPostVersion(anyLong())).thenReturn(version);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/1").header(HttpHeaders.IF_NONE_MATCH, HttpCacheUtils.eTag(version)))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, HttpCacheUtils.eTag(version)))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+
+        verify(postService, never()).getPostById(anyLong());
+    }
+
+    @Test
+    void testGetPostByIdNotModifiedSince() throws Exception {
+        var version = new PostVersionDto(1L, 0L, LocalDateTime.now().minusDays(1));
+        var ifModifiedSince = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC));
+
+        when(postService.getPostVersion(anyLong())).thenReturn(version);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/1").header(HttpHeaders.IF_MODIFIED_SINCE, ifModifiedSince))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+
+        verify(postService, never()).getPostById(anyLong());
+    }
+
+    @Test
+    void testGetPostByIdStaleETag() throws Exception {
+        var version = new PostVersionDto(1L, 0L, postResponseDtos.getFirst().getUpdatedAt());
+
+        when(postService.getPostVersion(anyLong())).thenReturn(version);
+        when(postService.getPostById(anyLong())).thenReturn(postResponseDtos.getFirst());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/1").header(HttpHeaders.IF_NONE_MATCH, "\"2-0\""))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(1));
+
+        verify(postService, times(1)).getPostById(anyLong());
     }
 
     @Test
     void testGetPostByTitle() throws Exception {
         var expectedPost = postResponseDtos.getFirst();
 
+        when(postService.getPostVersionByTitle(anyString()))
+                .thenReturn(new PostVersionDto(expectedPost.getId(), 0L, expectedPost.getUpdatedAt()));
         when(postService.getPostByTitle(anyString())).thenReturn(postResponseDtos.getFirst());
 
         mockMvc.perform(MockMvcRequestBuilders.get("/posts/title").param("title", expectedPost.getTitle()))
@@ -156,16 +308,17 @@ class PostControllerTest {
 
     @Test
     void testGetPostByTitleNotFound() throws Exception {
-        when(postService.getPostByTitle(anyString())).thenThrow(new ObjectNotFoundException("Post not found"));
+        when(postService.getPostVersionByTitle(anyString())).thenThrow(new ObjectNotFoundException("Post not found"));
 
         mockMvc.perform(MockMvcRequestBuilders.get("/posts/title").param("title", "title1"))
                 .andExpect(MockMvcResultMatchers.status().isNotFound());
 
-        assertThatThrownBy(() -> postService.getPostByTitle(anyString()))
+        assertThatThrownBy(() -> postService.getPostVersionByTitle(anyString()))
                 .isInstanceOf(ObjectNotFoundException.class)
                 .hasMessage("Post not found");
 
-        verify(postService, times(2)).getPostByTitle(anyString());
+        verify(postService, times(2)).getPostVersionByTitle(anyString());
+        verify(postService, never()).getPostByTitle(anyString());
     }
 
     @Test
@@ -195,6 +348,91 @@ class PostControllerTest {
         verify(postService, times(1)).getPostsByTag(anyString(), any(Pageable.class));
     }
 
+    @Test
+    void testSearchPosts() throws Exception {
+        when(postService.searchPosts(anyString(), any(Pageable.class))).thenReturn(postResponseDtoPage);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/search").param("q", "content"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(MockMvcResultMatchers.header().exists("ETag"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()").value(postResponseDtoPage.getNumberOfElements()));
+
+        verify(postService, times(1)).searchPosts("content", PageRequest.of(0, 50));
+    }
+
+    @Test
+    void testSearchPostsBlankQuery() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/search").param("q", " "))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        verifyNoInteractions(postService);
+    }
+
+    @Test
+    void testExportPosts() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<PostResponseDto> sink = invocation.getArgument(2);
+            postResponseDtos.forEach(sink);
+            return (long) postResponseDtos.size();
+        }).when(postService).exportPosts(eq(true), isNull(), any());
+
+        var result = mockMvc.perform(MockMvcRequestBuilders.get("/posts/export").param("published", "true"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        var lines = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertEquals(postResponseDtos.size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            var post = objectMapper.readValue(lines[i], PostResponseDto.class);
+            assertEquals(postResponseDtos.get(i).getId(), post.getId());
+            assertEquals(postResponseDtos.get(i).getTags(), post.getTags());
+        }
+        verify(postService, times(1)).exportPosts(eq(true), isNull(), any());
+    }
+
+    @Test
+    void testScrollAllPosts() throws Exception {
+        var cursorPage = new CursorPageDto<>(postSummaryDtos, postSummaryDtos.size(), "next", true);
+
+        when(postService.scrollAllPosts(any(), anyInt())).thenReturn(cursorPage);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/all/cursor").param("after", "cursor").param("size", "2"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()").value(postSummaryDtos.size()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").value("next"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.hasNext").value(true));
+
+        verify(postService, times(1)).scrollAllPosts("cursor", 2);
+    }
+
+    @Test
+    void testScrollPostsByTag() throws Exception {
+        var cursorPage = new CursorPageDto<>(List.of(postSummaryDtos.getFirst()), 1, null, false);
+
+        when(postService.scrollPostsByTag(anyString(), any(), anyInt())).thenReturn(cursorPage);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/tag/cursor").param("tag", "tag1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].tags[0]").value("tag1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.hasNext").value(false));
+
+        verify(postService, times(1)).scrollPostsByTag("tag1", null, 50);
+    }
+
+    @Test
+    void testScrollAllPostsInvalidSize() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/all/cursor").param("size", "501"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        verify(postService, never()).scrollAllPosts(any(), anyInt());
+    }
+
     @Test
     void testCreatePost() throws Exception {
         var expectedPost = postResponseDtos.getFirst();
@@ -231,6 +469,60 @@ class PostControllerTest {
         verify(postService, never()).createPost(any(PostCreateDto.class));
     }
 
+    @Test
+    void testCreatePosts() throws Exception {
+        var batchResult = new BatchResultDto(1, 1, List.of(
+                new BatchItemResultDto(0, BatchItemStatus.CREATED, 1L, List.of()),
+                new BatchItemResultDto(1, BatchItemStatus.INVALID, null, List.of("Title is mandatory"))));
+
+        when(postService.createPosts(anyList())).thenReturn(batchResult);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/posts/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(List.of(postCreateDto, invalidPostCreateDto))))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failed").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].status").value("CREATED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].id").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[1].status").value("INVALID"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[1].errors[0]").value("Title is mandatory"));
+
+        verify(postService, times(1)).createPosts(anyList());
+    }
+
+    @Test
+    void testCreatePostsEmptyBatch() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/posts/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content("[]"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        verify(postService, never()).createPosts(anyList());
+    }
+
+    @Test
+    void testImportPosts() throws Exception {
+        var importResult = new ImportResultDto(3, 2, 1, List.of(
+                new ImportLineErrorDto(2, BatchItemStatus.INVALID, List.of("Title is mandatory"))), false);
+
+        when(postImportService.importPosts(any(InputStream.class))).thenReturn(importResult);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/posts/import")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_NDJSON_VALUE)
+                        .content(objectMapper.writeValueAsString(postCreateDto) + "\n"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failed").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].line").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].status").value("INVALID"));
+
+        verify(postImportService, times(1)).importPosts(any(InputStream.class));
+    }
+
     @Test
     void testCreatePostDataIntegrityViolation() throws Exception {
         when(postService.createPost(any(PostCreateDto.class))).thenThrow(new DataIntegrityViolationException("Database constraint violated"));
@@ -249,7 +541,7 @@ class PostControllerTest {
     void testUpdatePost() throws Exception {
         var expectedPost = postResponseDtos.getFirst();
 
-        when(postService.updatePost(anyLong(), any(PostCreateDto.class))).thenReturn(expectedPost);
+        when(postService.updatePost(anyLong(), any(PostCreateDto.class), any())).thenReturn(expectedPost);
 
         mockMvc.perform(MockMvcRequestBuilders.put("/posts/1")
                         .with(csrf())
@@ -265,7 +557,61 @@ class PostControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.tags[1]").value(expectedPost.getTags().get(1)))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.published").value(expectedPost.isPublished()));
 
-        verify(postService, times(1)).updatePost(anyLong(), any(PostCreateDto.class));
+        verify(postService, times(1)).updatePost(anyLong(), any(PostCreateDto.class), any());
+    }
+
+    @Test
+    void testUpdatePostIfMatch() throws Exception {
+        var expectedPost = postResponseDtos.getFirst();
+
+        when(postService.updatePost(eq(1L), any(PostCreateDto.class), eq(3L))).thenReturn(expectedPost);
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/posts/1")
+                        .with(csrf())
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(postCreateDto)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-" + expectedPost.getVersion() + "\""));
+
+        verify(postService, times(1)).updatePost(eq(1L), any(PostCreateDto.class), eq(3L));
+    }
+
+    @Test
+    void testUpdatePostPreconditionFailed() throws Exception {
+        when(postService.updatePost(eq(1L), any(PostCreateDto.class), eq(2L)))
+                .thenThrow(new PreconditionFailedException("Post with ID = 1 is at version 3, not 2"));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/posts/1")
+                        .with(csrf())
+                        .header(HttpHeaders.IF_MATCH, "\"1-2\"")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(postCreateDto)))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value("412"));
+    }
+
+    @Test
+    void testUpdatePostIfMatchOfAnotherPost() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.put("/posts/2")
+                        .with(csrf())
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(postCreateDto)))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+        verifyNoInteractions(postService);
+    }
+
+    @Test
+    void testTogglePublishConcurrentModification() throws Exception {
+        when(postService.togglePublish(anyLong(), anyBoolean(), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(PostEntity.class, 1L));
+
+        mockMvc.perform(MockMvcRequestBuilders.patch("/posts/1/publish")
+                        .param("publish", "true")
+                        .with(csrf()))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
     }
 
     @Test
@@ -277,12 +623,12 @@ class PostControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isBadRequest())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.violations[0].status").value("400"));
 
-        verify(postService, never()).updatePost(anyLong(), any(PostCreateDto.class));
+        verify(postService, never()).updatePost(anyLong(), any(PostCreateDto.class), any());
     }
 
     @Test
     void testUpdatePostDataIntegrityViolation() throws Exception {
-        when(postService.updatePost(anyLong(), any(PostCreateDto.class))).thenThrow(new DataIntegrityViolationException("Database constraint violated"));
+        when(postService.updatePost(anyLong(), any(PostCreateDto.class), any())).thenThrow(new DataIntegrityViolationException("Database constraint violated"));
 
         mockMvc.perform(MockMvcRequestBuilders.put("/posts/1")
                         .with(csrf())
@@ -291,36 +637,36 @@ class PostControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isConflict())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.status").value("409"));
 
-        verify(postService, times(1)).updatePost(anyLong(), any(PostCreateDto.class));
+        verify(postService, times(1)).updatePost(anyLong(), any(PostCreateDto.class), any());
     }
 
     @Test
     void testTogglePublish() throws Exception {
-        when(postService.togglePublish(anyLong(), anyBoolean())).thenReturn(postResponseDtos.getFirst());
+        when(postService.togglePublish(anyLong(), anyBoolean(), any())).thenReturn(postResponseDtos.getFirst());
 
         mockMvc.perform(MockMvcRequestBuilders.patch("/posts/1/publish").param("publish", "false")
                         .with(csrf()))
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.published").value(false));
 
-        verify(postService, times(1)).togglePublish(anyLong(), anyBoolean());
+        verify(postService, times(1)).togglePublish(anyLong(), anyBoolean(), any());
     }
 
     @Test
     void testTogglePublishNotFound() throws Exception {
-        when(postService.togglePublish(anyLong(), anyBoolean())).thenThrow(new ObjectNotFoundException("Post not found"));
+        when(postService.togglePublish(anyLong(), anyBoolean(), any())).thenThrow(new ObjectNotFoundException("Post not found"));
 
         mockMvc.perform(MockMvcRequestBuilders.patch("/posts/1/publish").param("publish", "false")
                         .with(csrf()))
                 .andExpect(MockMvcResultMatchers.status().isNotFound())
                 .andExpect(jsonPath("$.status").value("404"));
 
-        verify(postService, times(1)).togglePublish(anyLong(), anyBoolean());
+        verify(postService, times(1)).togglePublish(anyLong(), anyBoolean(), any());
     }
 
     @Test
     void testUpdateContent() throws Exception {
-        when(postService.updateContent(anyLong(), anyString())).thenReturn(postResponseDtos.getFirst());
+        when(postService.updateContent(anyLong(), anyString(), any())).thenReturn(postResponseDtos.getFirst());
 
         mockMvc.perform(MockMvcRequestBuilders.patch("/posts/1/content")
                         .content(objectMapper.writeValueAsString("test"))
@@ -328,12 +674,12 @@ class PostControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.content").value(postResponseDtos.getFirst().getContent()));
 
-        verify(postService, times(1)).updateContent(anyLong(), anyString());
+        verify(postService, times(1)).updateContent(anyLong(), anyString(), any());
     }
 
     @Test
     void testUpdateContentNotFound() throws Exception {
-        when(postService.updateContent(anyLong(), anyString())).thenThrow(new ObjectNotFoundException("Post not found"));
+        when(postService.updateContent(anyLong(), anyString(), any())).thenThrow(new ObjectNotFoundException("Post not found"));
 
         mockMvc.perform(MockMvcRequestBuilders.patch("/posts/1/content")
                         .content(objectMapper.writeValueAsString("test"))
@@ -341,7 +687,7 @@ class PostControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isNotFound())
                 .andExpect(jsonPath("$.status").value("404"));
 
-        verify(postService, times(1)).updateContent(anyLong(), anyString());
+        verify(postService, times(1)).updateContent(anyLong(), anyString(), any());
     }
 
     @Test
@@ -350,19 +696,29 @@ class PostControllerTest {
                         .with(csrf()))
                 .andExpect(MockMvcResultMatchers.status().isNoContent());
 
-        verify(postService, times(1)).deletePost(anyLong());
+        verify(postService, times(1)).deletePost(anyLong(), any());
+    }
+
+    @Test
+    void testDeletePostMalformedIfMatch() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/posts/1")
+                        .header(HttpHeaders.IF_MATCH, "W/\"1-1\"")
+                        .with(csrf()))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+        verifyNoInteractions(postService);
     }
 
     @Test
     void testDeletePostNotFound() throws Exception {
-        when(postService.deletePost(anyLong())).thenThrow(new ObjectNotFoundException("Post not found"));
+        when(postService.deletePost(anyLong(), any())).thenThrow(new ObjectNotFoundException("Post not found"));
 
         mockMvc.perform(MockMvcRequestBuilders.delete("/posts/1")
                         .with(csrf()))
                 .andExpect(MockMvcResultMatchers.status().isNotFound())
                 .andExpect(jsonPath("$.status").value("404"));
 
-        verify(postService, times(1)).deletePost(anyLong());
+        verify(postService, times(1)).deletePost(anyLong(), any());
     }
 
 }
@@ -0,0 +1,54 @@
+package com.bmri.blogbackend.controllers;
+
+import com.bmri.blogbackend.dtos.response.TagCountDto;
+import com.bmri.blogbackend.services.interfaces.TagService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@WebMvcTest(TagController.class)
+@WithMockUser(username = "user", roles = {"USER"})
+class TagControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TagService tagService;
+
+    @Test
+    void testGetTags() throws Exception {
+        when(tagService.getTags(false)).thenReturn(List.of(new TagCountDto("java", 2), new TagCountDto("spring", 1)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tags"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].tag").value("java"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].count").value(2));
+
+        verify(tagService, times(1)).getTags(false);
+    }
+
+    @Test
+    void testGetPublishedTags() throws Exception {
+        when(tagService.getTags(true)).thenReturn(List.of(new TagCountDto("java", 1)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tags").param("publishedOnly", "true"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(1));
+
+        verify(tagService, times(1)).getTags(true);
+    }
+
+}
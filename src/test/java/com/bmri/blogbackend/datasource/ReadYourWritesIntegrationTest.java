@@ -0,0 +1,108 @@
+package com.bmri.blogbackend.datasource;
+
+import com.bmri.blogbackend.domain.PostEntity;
+import com.bmri.blogbackend.dtos.request.PostCreateDto;
+import com.bmri.blogbackend.enums.Role;
+import com.bmri.blogbackend.repositories.PostRepository;
+import com.bmri.blogbackend.services.interfaces.PostService;
+import com.bmri.blogbackend.utils.JwtUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+// The replica is a separate database that never receives the primary's writes, standing in for one that lags behind
+@SpringBootTest(properties = {
+        "jwt.secret=sticky-test-secret-sticky-test-secret-sticky-test-secret",
+        "spring.datasource.url=jdbc:h2:mem:stickyprimary",
+        "blog.datasource.replicas.enabled=true",
+        "blog.datasource.replicas.urls=" + ReadYourWritesIntegrationTest.REPLICA_URL,
+        "blog.datasource.replicas.lag-query=select 0"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadYourWritesIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:stickyreplica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Before the context starts, since the search index is loaded from the replica at startup
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration/h2", "classpath:db/migration/common")
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void testAnonymousReadsAfterWriteUsePrimary() throws Exception {
+        var newPost = new PostCreateDto("sticky post", "content", "sticky", List.of("tag"), true);
+        var writeCookie = mockMvc.perform(MockMvcRequestBuilders.post("/posts")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtils.generateToken("admin", Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newPost)))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(cookie().maxAge(ReadYourWritesInterceptor.PRIMARY_COOKIE, 10))
+                .andReturn().getResponse().getCookie(ReadYourWritesInterceptor.PRIMARY_COOKIE);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/category").param("category", "sticky"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/category").param("category", "sticky")
+                        .cookie(new Cookie(writeCookie.getName(), writeCookie.getValue())))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1));
+    }
+
+    @Test
+    void testPostCacheLoadsFromPrimary() {
+        var post = postRepository.save(new PostEntity("cached post", "content", "category", List.of("tag"), true));
+
+        assertEquals(post.getId(), postService.getPostById(post.getId()).getId());
+        assertEquals(post.getId(), postService.getPostByTitle("cached post").getId());
+    }
+
+    @Test
+    void testReplicaPoolReportsMetrics() {
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", "replica-1").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", "primary").gauge());
+    }
+
+}
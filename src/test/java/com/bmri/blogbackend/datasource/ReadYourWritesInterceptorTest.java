@@ -0,0 +1,63 @@
+package com.bmri.blogbackend.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesInterceptorTest {
+
+    private final ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(Duration.ofSeconds(10));
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.setPrimaryRequired(false);
+    }
+
+    @Test
+    void testWritesSetCookieForWindow() {
+        var response = new MockHttpServletResponse();
+
+        interceptor.preHandle(new MockHttpServletRequest("PUT", "/posts/1"), response, null);
+
+        var cookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertNotNull(cookie);
+        assertTrue(cookie.startsWith(ReadYourWritesInterceptor.PRIMARY_COOKIE + "=1"));
+        assertTrue(cookie.contains("Max-Age=10"));
+        assertTrue(cookie.contains("HttpOnly"));
+    }
+
+    @Test
+    void testReadsWithCookieStayOnPrimary() {
+        var request = new MockHttpServletRequest("GET", "/posts/1");
+        request.setCookies(new Cookie(ReadYourWritesInterceptor.PRIMARY_COOKIE, "1"));
+
+        assertTrue(primaryRequiredFor(request));
+        assertFalse(primaryRequiredFor(new MockHttpServletRequest("GET", "/posts/1")));
+    }
+
+    @Test
+    void testReadsDoNotSetCookie() {
+        var response = new MockHttpServletResponse();
+
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/posts/1"), response, null);
+
+        assertNull(response.getHeader(HttpHeaders.SET_COOKIE));
+    }
+
+    private boolean primaryRequiredFor(MockHttpServletRequest request) {
+        var response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        var primaryRequired = ReplicaRoutingDataSource.isPrimaryRequired();
+        interceptor.afterCompletion(request, response, null, null);
+        assertFalse(ReplicaRoutingDataSource.isPrimaryRequired());
+        return primaryRequired;
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.bmri.blogbackend.datasource;
+
+import com.bmri.blogbackend.enums.ReplicaSelection;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Primary and replicas are separate in-memory H2 databases whose node table holds their own name
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "select seconds from lag";
+
+    private HikariDataSource primary;
+    private HikariDataSource replica1;
+    private HikariDataSource replica2;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica1 = database("replica-1");
+        replica2 = database("replica-2");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.setPrimaryRequired(false);
+        routingDataSource.close();
+        primary.close();
+    }
+
+    @Test
+    void testWritesAndNonTransactionalReadsUsePrimary() {
+        route(ReplicaSelection.ROUND_ROBIN);
+
+        assertEquals("primary", writeTransaction.execute(status -> node()));
+        assertEquals("primary", node());
+    }
+
+    @Test
+    void testReadOnlyTransactionsAlternateBetweenReplicas() {
+        route(ReplicaSelection.ROUND_ROBIN);
+
+        var nodes = List.of(readOnlyNode(), readOnlyNode(), readOnlyNode(), readOnlyNode());
+
+        assertEquals(List.of("replica-1", "replica-2", "replica-1", "replica-2"), nodes);
+    }
+
+    @Test
+    void testLeastLoadedReplicaIsChosen() throws Exception {
+        route(ReplicaSelection.LEAST_LOADED);
+
+        try (var borrowed = replica1.getConnection()) {
+            assertEquals("replica-2", readOnlyNode());
+            assertEquals("replica-2", readOnlyNode());
+        }
+    }
+
+    @Test
+    void testLaggingReplicasFallBackToPrimary() {
+        route(ReplicaSelection.ROUND_ROBIN);
+
+        setLag(replica1, 60);
+        routingDataSource.checkReplicaLag();
+        assertEquals("replica-2", readOnlyNode());
+        assertEquals("replica-2", readOnlyNode());
+
+        new JdbcTemplate(replica2).execute("drop table lag");
+        routingDataSource.checkReplicaLag();
+        assertEquals("primary", readOnlyNode());
+
+        setLag(replica1, 0);
+        routingDataSource.checkReplicaLag();
+        assertEquals("replica-1", readOnlyNode());
+    }
+
+    @Test
+    void testPrimaryRequiredOverridesReadOnly() {
+        route(ReplicaSelection.ROUND_ROBIN);
+
+        ReplicaRoutingDataSource.setPrimaryRequired(true);
+        assertEquals("primary", readOnlyNode());
+
+        ReplicaRoutingDataSource.setPrimaryRequired(false);
+        assertEquals("replica-1", readOnlyNode());
+    }
+
+    private void route(ReplicaSelection selection) {
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), selection,
+                Duration.ofSeconds(5), LAG_QUERY);
+        var dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        var transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    private String readOnlyNode() {
+        return readOnlyTransaction.execute(status -> node());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static void setLag(HikariDataSource dataSource, int seconds) {
+        new JdbcTemplate(dataSource).update("update lag set seconds = ?", seconds);
+    }
+
+    private static HikariDataSource database(String name) {
+        var dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl("jdbc:h2:mem:routing-" + name);
+        dataSource.setUsername("sa");
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table node (name varchar(20))");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        jdbcTemplate.execute("create table lag (seconds int)");
+        jdbcTemplate.update("insert into lag (seconds) values (0)");
+        return dataSource;
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.bmri.blogbackend.datasource;
+
+import com.bmri.blogbackend.domain.PostEntity;
+import com.bmri.blogbackend.repositories.PostRepository;
+import com.bmri.blogbackend.services.interfaces.PostService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The replica URL points at the primary's database, so writes are visible to it at once
+@SpringBootTest(properties = {
+        "jwt.secret=replica-test-secret-replica-test-secret-replica-test",
+        "spring.datasource.url=jdbc:h2:mem:replicatest",
+        "blog.datasource.replicas.enabled=true",
+        "blog.datasource.replicas.urls=jdbc:h2:mem:replicatest",
+        "blog.datasource.replicas.selection=least-loaded",
+        "blog.datasource.replicas.lag-query=select 0"})
+@ActiveProfiles("test")
+class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testReadOnlyTransactionsUseReplica() {
+        var replica = (HikariDataSource) replicaRoutingDataSource.getResolvedDataSources().get("replica-1");
+        var readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            postRepository.save(new PostEntity("routed", "content", "category", List.of("tag"), true));
+            postRepository.flush();
+            assertEquals(1, primaryDataSource.getHikariPoolMXBean().getActiveConnections());
+            assertEquals(0, replica.getHikariPoolMXBean().getActiveConnections());
+        });
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            assertTrue(postRepository.getByTitle("routed").isPresent());
+            assertEquals(0, primaryDataSource.getHikariPoolMXBean().getActiveConnections());
+            assertEquals(1, replica.getHikariPoolMXBean().getActiveConnections());
+        });
+
+        assertTrue(postService.getAllPosts(PageRequest.of(0, 10)).getTotalElements() > 0);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.bmri.blogbackend.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentCompressionConverterTest {
+
+    private static final String LONG_CONTENT = "Long-form paragraph about Spring and Hibernate. ".repeat(200);
+
+    private final ContentCompressionConverter converter = new ContentCompressionConverter(true, 1024);
+
+    @Test
+    void testCompressesContentAboveThreshold() {
+        var column = converter.convertToDatabaseColumn(LONG_CONTENT);
+
+        assertTrue(column.startsWith(ContentCompressionConverter.HEADER));
+        assertTrue(column.length() < LONG_CONTENT.length() / 5);
+        assertEquals(LONG_CONTENT, converter.convertToEntityAttribute(column));
+    }
+
+    @Test
+    void testKeepsShortContentPlain() {
+        assertEquals("short", converter.convertToDatabaseColumn("short"));
+        assertEquals("short", converter.convertToEntityAttribute("short"));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void testKeepsIncompressibleContentPlain() {
+        var random = new Random(42);
+        var builder = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            builder.append((char) ('!' + random.nextInt(90)));
+        }
+        var content = builder.toString();
+
+        assertEquals(content, converter.convertToDatabaseColumn(content));
+    }
+
+    @Test
+    void testDisabledConverterStillReadsCompressedRows() {
+        var disabled = new ContentCompressionConverter(false, 1024);
+        var column = converter.convertToDatabaseColumn(LONG_CONTENT);
+
+        assertEquals(LONG_CONTENT, disabled.convertToDatabaseColumn(LONG_CONTENT));
+        assertEquals(LONG_CONTENT, disabled.convertToEntityAttribute(column));
+    }
+
+    @Test
+    void testContentStartingWithHeaderRoundTrips() {
+        var disabled = new ContentCompressionConverter(false, 1024);
+        var content = ContentCompressionConverter.HEADER + "not compressed";
+
+        assertEquals(content, disabled.convertToEntityAttribute(disabled.convertToDatabaseColumn(content)));
+        assertEquals(content, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(content)));
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.bmri.blogbackend.jobs;
+
+import com.bmri.blogbackend.config.JpaConfig;
+import com.bmri.blogbackend.domain.ContentCompressionConverter;
+import com.bmri.blogbackend.domain.PostEntity;
+import com.bmri.blogbackend.repositories.PostRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the PostgreSQL migrations, where content is an oid large object rather than a clob. Skipped without Docker
+@DataJpaTest(properties = {"blog.posts.compression.enabled=true", "blog.posts.compression.threshold=100"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, ContentCompressionConverter.class, ContentCompressionJob.class})
+@Testcontainers(disabledWithoutDocker = true)
+class ContentCompressionJobPostgresTest {
+
+    private static final String LONG_CONTENT = "Long-form paragraph about Spring and Hibernate. ".repeat(50);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private ContentCompressionJob contentCompressionJob;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testCompressExistingContent() {
+        var compressedPostId = savePost("compressed", LONG_CONTENT);
+        var shortPostId = savePost("short", "short content");
+        var plainPostId = savePost("plain", LONG_CONTENT);
+        // Simulate a row written before compression was enabled
+        entityManager.createNativeQuery("update posts set content = lo_from_bytea(0, convert_to(:content, 'UTF8')) where id = :id")
+                .setParameter("content", LONG_CONTENT).setParameter("id", plainPostId).executeUpdate();
+        var compressedContent = rawContent(compressedPostId);
+        entityManager.clear();
+
+        var result = contentCompressionJob.compressExistingContent();
+        entityManager.clear();
+
+        assertEquals(3, result.getScanned());
+        assertEquals(1, result.getRewritten());
+        assertTrue(rawContent(plainPostId).startsWith(ContentCompressionConverter.HEADER));
+        assertEquals(compressedContent, rawContent(compressedPostId));
+        assertEquals("short content", rawContent(shortPostId));
+        assertEquals(LONG_CONTENT, postRepository.findById(plainPostId).orElseThrow().getContent());
+    }
+
+    private Long savePost(String title, String content) {
+        var postId = postRepository.save(new PostEntity(title, content, "category", List.of("tag"), true)).getId();
+        entityManager.flush();
+        entityManager.clear();
+        return postId;
+    }
+
+    private String rawContent(Long postId) {
+        return entityManager.createNativeQuery("select convert_from(lo_get(content), 'UTF8') from posts where id = :id",
+                String.class).setParameter("id", postId).getSingleResult().toString();
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.bmri.blogbackend.jobs;
+
+import com.bmri.blogbackend.config.JpaConfig;
+import com.bmri.blogbackend.domain.ContentCompressionConverter;
+import com.bmri.blogbackend.domain.PostEntity;
+import com.bmri.blogbackend.repositories.PostRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"blog.posts.compression.enabled=true", "blog.posts.compression.threshold=100"})
+@Import({JpaConfig.class, ContentCompressionConverter.class, ContentCompressionJob.class})
+class ContentCompressionJobTest {
+
+    private static final String LONG_CONTENT = "Long-form paragraph about Spring and Hibernate. ".repeat(50);
+
+    @Autowired
+    private ContentCompressionJob contentCompressionJob;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testNewPostsAreStoredCompressed() {
+        var postId = savePost("post", LONG_CONTENT);
+
+        assertTrue(rawContent(postId).startsWith("\u0001deflate:"));
+        assertEquals(LONG_CONTENT, postRepository.findById(postId).orElseThrow().getContent());
+    }
+
+    @Test
+    void testCompressExistingContent() {
+        var longPostId = savePost("long", LONG_CONTENT);
+        var shortPostId = savePost("short", "short content");
+        // Simulate a row written before compression was enabled
+        entityManager.createNativeQuery("update posts set content = :content where id = :id")
+                .setParameter("content", LONG_CONTENT).setParameter("id", longPostId).executeUpdate();
+        var version = postRepository.findById(longPostId).orElseThrow().getVersion();
+        entityManager.clear();
+
+        var result = contentCompressionJob.compressExistingContent();
+        entityManager.clear();
+
+        assertEquals(2, result.getScanned());
+        assertEquals(1, result.getRewritten());
+        assertTrue(rawContent(longPostId).startsWith("\u0001deflate:"));
+        assertEquals("short content", rawContent(shortPostId));
+        var post = postRepository.findById(longPostId).orElseThrow();
+        assertEquals(LONG_CONTENT, post.getContent());
+        assertEquals(version, post.getVersion());
+    }
+
+    @Test
+    void testCompressedRowsAreSkipped() {
+        var postId = savePost("post", LONG_CONTENT);
+        var storedContent = rawContent(postId);
+
+        var result = contentCompressionJob.compressExistingContent();
+
+        assertEquals(1, result.getScanned());
+        assertEquals(0, result.getRewritten());
+        assertEquals(storedContent, rawContent(postId));
+    }
+
+    @Test
+    void testRewriteSkipsPostsEditedSinceRead() {
+        var postId = savePost("post", LONG_CONTENT);
+        var post = postRepository.findById(postId).orElseThrow();
+        post.setContent("edited " + LONG_CONTENT);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(0, postRepository.rewriteContent(postId, LONG_CONTENT, post.getVersion() - 1));
+        entityManager.clear();
+
+        assertEquals("edited " + LONG_CONTENT, postRepository.findById(postId).orElseThrow().getContent());
+    }
+
+    private Long savePost(String title, String content) {
+        var postId = postRepository.save(new PostEntity(title, content, "category", List.of("tag"), true)).getId();
+        entityManager.flush();
+        entityManager.clear();
+        return postId;
+    }
+
+    private String rawContent(Long postId) {
+        return entityManager.createNativeQuery("select cast(content as varchar) from posts where id = :id", String.class)
+                .setParameter("id", postId).getSingleResult().toString();
+    }
+
+}
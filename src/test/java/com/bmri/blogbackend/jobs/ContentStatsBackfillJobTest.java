@@ -0,0 +1,82 @@
+package com.bmri.blogbackend.jobs;
+
+import com.bmri.blogbackend.cache.PostCache;
+import com.bmri.blogbackend.config.JpaConfig;
+import com.bmri.blogbackend.domain.PostEntity;
+import com.bmri.blogbackend.mappers.PostMapper;
+import com.bmri.blogbackend.repositories.PostRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({JpaConfig.class, PostCache.class, ContentStatsBackfillJob.class})
+class ContentStatsBackfillJobTest {
+
+    @Autowired
+    private ContentStatsBackfillJob contentStatsBackfillJob;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostCache postCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testNewPostsStoreContentStats() {
+        var post = postRepository.save(new PostEntity("post", "three short words", "category", List.of(), true));
+
+        assertEquals("three short words", post.getExcerpt());
+        assertEquals(3, post.getWordCount());
+        assertEquals(1, post.getReadingTimeMinutes());
+    }
+
+    @Test
+    void testBackfillContentStats() {
+        var postId = postRepository.save(new PostEntity("old", "written before the stats", "category", List.of(), true)).getId();
+        postRepository.save(new PostEntity("new", "already has stats", "category", List.of(), true));
+        entityManager.flush();
+        // Simulate a row written before the columns existed
+        entityManager.createNativeQuery("update posts set excerpt = null, word_count = null, reading_time_minutes = null " +
+                "where id = :id").setParameter("id", postId).executeUpdate();
+        entityManager.clear();
+        var version = postRepository.findById(postId).orElseThrow().getVersion();
+        postCache.put(PostMapper.toDto(postRepository.findById(postId).orElseThrow()));
+        entityManager.clear();
+
+        var result = contentStatsBackfillJob.backfillContentStats();
+        entityManager.clear();
+
+        assertEquals(1, result.getScanned());
+        assertEquals(1, result.getRewritten());
+        var post = postRepository.findById(postId).orElseThrow();
+        assertEquals("written before the stats", post.getExcerpt());
+        assertEquals(4, post.getWordCount());
+        assertEquals(1, post.getReadingTimeMinutes());
+        assertEquals(version + 1, post.getVersion());
+        assertNull(postCache.getIfPresent(postId));
+        assertEquals(0, contentStatsBackfillJob.backfillContentStats().getRewritten());
+    }
+
+    @Test
+    void testRewriteSkipsPostsWithStats() {
+        var postId = postRepository.save(new PostEntity("post", "edited since the backfill read it", "category",
+                List.of(), true)).getId();
+        entityManager.flush();
+
+        assertEquals(0, postRepository.rewriteContentStats(postId, "stale", 1, 1));
+        entityManager.clear();
+
+        assertEquals(6, postRepository.findById(postId).orElseThrow().getWordCount());
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.bmri.blogbackend.jobs;
+
+import com.bmri.blogbackend.cache.PostCache;
+import com.bmri.blogbackend.config.JpaConfig;
+import com.bmri.blogbackend.domain.PostEntity;
+import com.bmri.blogbackend.dtos.request.PostCreateDto;
+import com.bmri.blogbackend.enums.BatchItemStatus;
+import com.bmri.blogbackend.repositories.PostRepository;
+import com.bmri.blogbackend.search.PostSearchIndex;
+import com.bmri.blogbackend.services.implementations.PostServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"blog.posts.soft-delete.enabled=true", "blog.posts.purge.batch-size=1"})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({JpaConfig.class, PostServiceImpl.class, PostCache.class, PostSearchIndex.class, PostPurgeJob.class})
+class PostPurgeJobTest {
+
+    @Autowired
+    private PostPurgeJob postPurgeJob;
+
+    @Autowired
+    private PostServiceImpl postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private List<Long> postIds;
+
+    @BeforeEach
+    void setUp() {
+        postIds = postRepository.saveAll(List.of(
+                        new PostEntity("post1", "content1", "category", List.of("tag", "tag1"), true),
+                        new PostEntity("post2", "content2", "category", List.of("tag", "tag2"), true),
+                        new PostEntity("post3", "content3", "category", List.of("tag", "tag3"), true)))
+                .stream().map(PostEntity::getId).toList();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testSoftDeletedPostsAreHidden() {
+        postService.deletePost(postIds.get(0), null);
+
+        assertTrue(postRepository.findById(postIds.get(0)).isEmpty());
+        assertFalse(postRepository.existsById(postIds.get(0)));
+        assertEquals(2, postService.getPostsByTag("tag", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(3, countRows("posts"));
+    }
+
+    @Test
+    void testSoftDeletedTitlesConflictInBatch() {
+        postService.deletePost(postIds.get(0), null);
+
+        var result = postService.createPosts(List.of(
+                new PostCreateDto("post1", "content", "category", List.of("tag"), true),
+                new PostCreateDto("post4", "content", "category", List.of("tag"), true)));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(BatchItemStatus.CONFLICT, result.getItems().get(0).getStatus());
+        assertEquals(BatchItemStatus.CREATED, result.getItems().get(1).getStatus());
+        assertEquals(4, countRows("posts"));
+    }
+
+    @Test
+    void testPurgeDeletedPosts() {
+        postService.deletePost(postIds.get(0), null);
+        postService.deletePost(postIds.get(1), null);
+
+        postPurgeJob.purgeDeletedPosts();
+
+        assertEquals(1, countRows("posts"));
+        assertEquals(2, countRows("post_tags"));
+        assertEquals(List.of("tag", "tag3"), postService.getPostById(postIds.get(2)).getTags());
+    }
+
+    private long countRows(String table) {
+        return ((Number) entityManager.createNativeQuery("select count(*) from " + table).getSingleResult()).longValue();
+    }
+
+}
@@ -0,0 +1,286 @@
+package com.bmri.blogbackend.loadtest;
+
+import com.bmri.blogbackend.domain.UserEntity;
+import com.bmri.blogbackend.dtos.request.PostCreateDto;
+import com.bmri.blogbackend.dtos.response.JwtResponseDto;
+import com.bmri.blogbackend.enums.Role;
+import com.bmri.blogbackend.repositories.UserRepository;
+import com.bmri.blogbackend.services.interfaces.PostService;
+import com.bmri.blogbackend.utils.PasswordEncoderUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mixed read/write workload against the REST API on the test profile. Excluded from the default build;
+ * run with {@code ./mvnw -P load-test test}. Tunable through {@code -Dloadtest.*} system properties.
+ */
+@Tag("load")
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "jwt.secret=load-test-secret-load-test-secret-load-test-secret",
+        "logging.level.com.bmri.blogbackend=warn"
+})
+class ApiLoadTest {
+
+    private static final int POSTS = Integer.getInteger("loadtest.posts", 2000);
+    private static final int TAGS = Integer.getInteger("loadtest.tags", 50);
+    private static final int CATEGORIES = Integer.getInteger("loadtest.categories", 10);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 30));
+    private static final int WRITE_PERCENT = Integer.getInteger("loadtest.write-percent", 10);
+    private static final int BATCH_SIZE = Integer.getInteger("loadtest.batch-size", 20);
+    private static final Path REPORT = Path.of("target", "load-test-report.csv");
+
+    private static final String USERNAME = "load-test-admin";
+    private static final String PASSWORD = "load-test-password";
+    private static final String[] WORDS = {"spring", "java", "cache", "index", "query", "thread", "latency", "batch"};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final List<SeededPost> seededPosts = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Long> createdPostIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong createdPostCount = new AtomicLong();
+    private List<Operation> readOperations;
+    private List<Operation> writeOperations;
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userRepository.save(new UserEntity(USERNAME, PasswordEncoderUtils.encode(PASSWORD), Role.ADMIN, "Load", "Test"));
+        for (int i = 0; i < POSTS; i++) {
+            var post = postService.createPost(newPost("seed-" + i, i % 2 == 0));
+            seededPosts.add(new SeededPost(post.getId(), post.getTitle()));
+        }
+        token = objectMapper.readValue(send(login()).body(), JwtResponseDto.class).getToken();
+
+        readOperations = List.of(
+                new Operation("GET /posts/all", 10, random -> get("/posts/all?size=20&page=" + random.nextInt(POSTS / 20))),
+                new Operation("GET /posts/all/cursor", 10, random -> get("/posts/all/cursor?size=20")),
+                new Operation("GET /posts/published", 5, random -> get("/posts/published?published=true&size=20")),
+                new Operation("GET /posts/published/cursor", 5, random -> get("/posts/published/cursor?published=true&size=20")),
+                new Operation("GET /posts/{id}", 25, random -> get("/posts/" + randomSeed(random).id())),
+                new Operation("GET /posts/title", 10, random -> get("/posts/title?title=" + encode(randomSeed(random).title()))),
+                new Operation("GET /posts/category", 5, random -> get("/posts/category?size=20&category=" + category(random))),
+                new Operation("GET /posts/category/cursor", 5, random -> get("/posts/category/cursor?size=20&category=" + category(random))),
+                new Operation("GET /posts/tag", 5, random -> get("/posts/tag?size=20&tag=" + tag(random))),
+                new Operation("GET /posts/tag/cursor", 5, random -> get("/posts/tag/cursor?size=20&tag=" + tag(random))),
+                new Operation("GET /posts/search", 10, random -> get("/posts/search?size=20&q=" + WORDS[random.nextInt(WORDS.length)])),
+                new Operation("GET /posts/export", 1, random -> get("/posts/export?published=true&category=" + category(random))),
+                new Operation("GET /tags", 2, random -> get("/tags")),
+                new Operation("GET /categories", 2, random -> get("/categories")),
+                new Operation("POST /login", 1, random -> login()));
+        writeOperations = List.of(
+                new Operation("POST /posts", 3, random -> write("POST", "/posts",
+                        json(newPost("load-" + createdPostCount.incrementAndGet(), random.nextBoolean())))),
+                new Operation("POST /posts/batch", 1, random -> write("POST", "/posts/batch", json(newPosts(random)))),
+                new Operation("POST /posts/import", 1, random -> write("POST", "/posts/import", "application/x-ndjson",
+                        String.join("\n", newPosts(random).stream().map(this::json).toList()))),
+                new Operation("PUT /posts/{id}", 2, random -> {
+                    var seed = randomSeed(random);
+                    return write("PUT", "/posts/" + seed.id(), json(newPost(seed.title(), random.nextBoolean())));
+                }),
+                new Operation("PATCH /posts/{id}/publish", 2, random ->
+                        write("PATCH", "/posts/" + randomSeed(random).id() + "/publish?publish=" + random.nextBoolean(), "")),
+                new Operation("PATCH /posts/{id}/content", 2, random ->
+                        write("PATCH", "/posts/" + randomSeed(random).id() + "/content", content(random))),
+                new Operation("DELETE /posts/{id}", 1, random -> {
+                    var id = createdPostIds.poll();
+                    return id != null ? write("DELETE", "/posts/" + id, null) : null;
+                }));
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        runWorkload(WARMUP);
+        var recorder = runWorkload(DURATION);
+
+        var report = recorder.report(DURATION.toNanos());
+        Files.createDirectories(REPORT.getParent());
+        Files.write(REPORT, report);
+        log.warn("mixedWorkload: {} posts, {} threads, {} s, {}% writes\n{}", POSTS, CONCURRENCY, DURATION.toSeconds(),
+                WRITE_PERCENT, String.join("\n", report));
+
+        readOperations.stream().filter(operation -> !operation.name().equals("POST /login"))
+                .forEach(operation -> assertEquals(0, recorder.errors(operation.name()), operation.name()));
+        writeOperations.forEach(operation -> assertEquals(0, recorder.errors(operation.name()), operation.name()));
+    }
+
+    private LatencyRecorder runWorkload(Duration duration) throws InterruptedException {
+        var deadline = System.nanoTime() + duration.toNanos();
+        var recorders = new ConcurrentLinkedQueue<LatencyRecorder>();
+        try (var executor = Executors.newFixedThreadPool(CONCURRENCY)) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                executor.execute(() -> {
+                    var recorder = new LatencyRecorder();
+                    var random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        var operations = random.nextInt(100) < WRITE_PERCENT ? writeOperations : readOperations;
+                        execute(pick(operations, random), random, recorder);
+                    }
+                    recorders.add(recorder);
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS));
+        }
+
+        var merged = new LatencyRecorder();
+        recorders.forEach(merged::merge);
+        return merged;
+    }
+
+    private void execute(Operation operation, ThreadLocalRandom random, LatencyRecorder recorder) {
+        var request = operation.request().apply(random);
+        if (request == null) {
+            return;
+        }
+        var start = System.nanoTime();
+        try {
+            var response = send(request);
+            recorder.record(operation.name(), System.nanoTime() - start, response.statusCode() < 400);
+            if (response.statusCode() == 201) {
+                createdPostIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+            }
+        } catch (IOException e) {
+            recorder.record(operation.name(), System.nanoTime() - start, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Operation pick(List<Operation> operations, ThreadLocalRandom random) {
+        var totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+        var choice = random.nextInt(totalWeight);
+        for (var operation : operations) {
+            choice -= operation.weight();
+            if (choice < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("No operation picked");
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest write(String method, String path, String body) {
+        return write(method, path, "application/json", body);
+    }
+
+    private HttpRequest write(String method, String path, String contentType, String body) {
+        var builder = HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token);
+        if (body == null) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", contentType)
+                .method(method, HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private HttpRequest login() {
+        return HttpRequest.newBuilder(uri("/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private SeededPost randomSeed(ThreadLocalRandom random) {
+        return seededPosts.get(random.nextInt(seededPosts.size()));
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static PostCreateDto newPost(String title, boolean published) {
+        var random = ThreadLocalRandom.current();
+        return new PostCreateDto(title, content(random), category(random), List.of(tag(random), tag(random)), published);
+    }
+
+    private List<PostCreateDto> newPosts(ThreadLocalRandom random) {
+        var posts = new ArrayList<PostCreateDto>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            posts.add(newPost("load-" + createdPostCount.incrementAndGet(), random.nextBoolean()));
+        }
+        return posts;
+    }
+
+    private static String content(ThreadLocalRandom random) {
+        var content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            content.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return content.toString();
+    }
+
+    private static String category(ThreadLocalRandom random) {
+        return "category" + random.nextInt(CATEGORIES);
+    }
+
+    private static String tag(ThreadLocalRandom random) {
+        return "tag" + random.nextInt(TAGS);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private record Operation(String name, int weight, Function<ThreadLocalRandom, HttpRequest> request) {
+    }
+
+    private record SeededPost(Long id, String title) {
+    }
+}
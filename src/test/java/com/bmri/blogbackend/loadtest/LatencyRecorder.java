@@ -0,0 +1,76 @@
+package com.bmri.blogbackend.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+// Per-thread latency samples; recorders are merged once the workload has finished, so recording needs no locking
+class LatencyRecorder {
+
+    private final Map<String, Samples> samplesByOperation = new TreeMap<>();
+
+    void record(String operation, long latencyNanos, boolean success) {
+        var samples = samplesByOperation.computeIfAbsent(operation, key -> new Samples());
+        samples.latencies.add(latencyNanos);
+        if (!success) {
+            samples.errors++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        other.samplesByOperation.forEach((operation, samples) -> {
+            var merged = samplesByOperation.computeIfAbsent(operation, key -> new Samples());
+            merged.latencies.addAll(samples.latencies);
+            merged.errors += samples.errors;
+        });
+    }
+
+    long errors(String operation) {
+        var samples = samplesByOperation.get(operation);
+        return samples != null ? samples.errors : 0;
+    }
+
+    List<String> report(long durationNanos) {
+        var lines = new ArrayList<String>();
+        lines.add("operation,requests,errors,throughput_rps,p50_ms,p95_ms,p99_ms,max_ms");
+        var total = new Samples();
+        samplesByOperation.forEach((operation, samples) -> {
+            lines.add(line(operation, samples, durationNanos));
+            total.latencies.addAll(samples.latencies);
+            total.errors += samples.errors;
+        });
+        lines.add(line("total", total, durationNanos));
+        return lines;
+    }
+
+    private static String line(String operation, Samples samples, long durationNanos) {
+        var latencies = samples.latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(latencies);
+        var throughput = latencies.length / (durationNanos / (double) TimeUnit.SECONDS.toNanos(1));
+        return String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f", operation, latencies.length,
+                samples.errors, throughput, millis(percentile(latencies, 50)), millis(percentile(latencies, 95)),
+                millis(percentile(latencies, 99)), millis(latencies.length > 0 ? latencies[latencies.length - 1] : 0));
+    }
+
+    // Nearest-rank percentile
+    private static long percentile(long[] sortedLatencies, int percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        var rank = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length);
+        return sortedLatencies[Math.max(rank, 1) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static class Samples {
+        private final List<Long> latencies = new ArrayList<>();
+        private long errors;
+    }
+}
@@ -0,0 +1,60 @@
+package com.bmri.blogbackend.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcStatementMetricsInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JdbcStatementMetricsInterceptor interceptor = new JdbcStatementMetricsInterceptor(meterRegistry);
+    private final JdbcStatementCounter counter = new JdbcStatementCounter();
+
+    @Test
+    void testRecordsStatementsOfRequest() {
+        var request = request("GET", "/posts/{id}");
+        var response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        counter.inspect("select 1");
+        counter.inspect("select 2");
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertEquals(2, statements("GET", "/posts/{id}"));
+    }
+
+    @Test
+    void testAddsUpBothDispatchesOfAsyncRequest() throws Exception {
+        var request = request("POST", "/login");
+        var response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        counter.inspect("select user");
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        // The async dispatch runs on another thread, whose counter starts again from zero
+        var dispatch = new Thread(() -> {
+            interceptor.preHandle(request, response, null);
+            counter.inspect("select 2");
+            interceptor.afterCompletion(request, response, null, null);
+        });
+        dispatch.start();
+        dispatch.join();
+
+        assertEquals(2, statements("POST", "/login"));
+    }
+
+    private double statements(String method, String uri) {
+        return meterRegistry.get("blog.http.jdbc.statements").tag("method", method).tag("uri", uri).summary().totalAmount();
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        var request = new MockHttpServletRequest(method, uri);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, uri);
+        return request;
+    }
+
+}
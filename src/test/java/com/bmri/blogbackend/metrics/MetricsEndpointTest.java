@@ -0,0 +1,51 @@
+package com.bmri.blogbackend.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.hamcrest.Matchers.containsString;
+
+@SpringBootTest(properties = "jwt.secret=metrics-test-secret-metrics-test-secret-metrics-test")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testPrometheusExposesServiceAndPersistenceMetrics() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/all"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(containsString("blog_post_service_seconds_count{class=\"com.bmri.blogbackend.services.implementations.PostServiceImpl\"")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("blog_http_jdbc_statements_count{method=\"GET\",uri=\"/posts/all\"}")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("hibernate_statements_total")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("hikaricp_connections_active")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("cache_gets_total{cache=\"postsById\"")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("blog_jwt_verification_seconds")));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void testPrometheusRequiresAdmin() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/health"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+}
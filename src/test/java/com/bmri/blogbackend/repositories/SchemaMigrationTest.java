@@ -0,0 +1,81 @@
+package com.bmri.blogbackend.repositories;
+
+import com.bmri.blogbackend.config.JpaConfig;
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Hibernate validates the entities against the migrated schema when the context starts; these check the indexes
+@DataJpaTest
+@Import(JpaConfig.class)
+class SchemaMigrationTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testMigrationsApplied() {
+        var version = entityManager.createNativeQuery(
+                "select max(cast(\"version\" as int)) from \"flyway_schema_history\" where \"success\"").getSingleResult();
+
+        assertEquals(4, ((Number) version).intValue());
+    }
+
+    @Test
+    void testListingQueriesUseIndexes() {
+        assertUsesIndex("idx_posts_published_created_at",
+                "select id from posts where published = true and deleted = false order by created_at desc, id desc");
+        assertUsesIndex("idx_posts_category_created_at",
+                "select id from posts where category = 'java' and deleted = false order by created_at desc, id desc");
+        assertUsesIndex("idx_posts_deleted_created_at",
+                "select id from posts where deleted = false order by created_at desc, id desc");
+        assertUsesIndex("idx_post_tags_tag_post_id", "select post_id from post_tags where tag = 'java'");
+        assertUsesIndex("idx_post_tags_post_id_tag", "select post_id, tag from post_tags where post_id in (1, 2, 3)");
+    }
+
+    // A database ddl-auto created before migrations existed: baselined at V1, then upgraded by the later versions
+    @Test
+    void testBaselineSchemaUpgrade() {
+        var dataSource = new DriverManagerDataSource("jdbc:h2:mem:baseline;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/h2/V1__create_schema.sql")).execute(dataSource);
+        var jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("insert into posts (title, content, category, published, created_at, updated_at) "
+                + "values ('first', 'content', 'java', true, now(), now()), ('second', 'content', null, false, now(), now())");
+        jdbc.update("insert into posts (id, title, content, published, created_at, updated_at) "
+                + "values (75, 'third', 'content', true, now(), now())");
+        jdbc.update("insert into post_tags (post_id, tag) values (1, 'java'), (75, 'spring')");
+        jdbc.update("insert into users (username, password, role, created_at, updated_at) "
+                + "values ('admin', 'secret', 'ADMIN', now(), now())");
+
+        var result = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2", "classpath:db/migration/common")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        assertEquals("4", result.targetSchemaVersion);
+        assertEquals(3, jdbc.queryForObject("select count(*) from posts where version = 0 and deleted = false", Integer.class));
+        assertEquals(1, jdbc.queryForObject("select count(*) from users where version = 0", Integer.class));
+        assertEquals(3, jdbc.queryForObject("select count(*) from posts where word_count is null", Integer.class));
+        // Hibernate takes the 50 ids up to each sequence value, so the first block must start above max(id)
+        assertEquals(125L, jdbc.queryForObject("select next value for posts_seq", Long.class));
+        assertEquals(51L, jdbc.queryForObject("select next value for users_seq", Long.class));
+    }
+
+    private void assertUsesIndex(String index, String query) {
+        var plan = entityManager.createNativeQuery("explain " + query).getSingleResult().toString();
+        assertTrue(plan.toLowerCase().contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.bmri.blogbackend.search;
+
+import com.bmri.blogbackend.dtos.response.PostResponseDto;
+import com.bmri.blogbackend.events.PostDeletedEvent;
+import com.bmri.blogbackend.events.PostSavedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostSearchIndexTest {
+
+    private PostSearchIndex postSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        postSearchIndex = new PostSearchIndex();
+        postSearchIndex.index(post(1L, "Spring Boot caching", "Caching posts with Caffeine", List.of("java")));
+        postSearchIndex.index(post(2L, "Java records", "Records are immutable data carriers in Java", List.of("java")));
+        postSearchIndex.index(post(3L, "Gardening", "Tomatoes need sun", List.of("outdoors")));
+    }
+
+    @Test
+    void testSearchRanksTitleMatchesFirst() {
+        var result = postSearchIndex.search("caching", PageRequest.of(0, 10));
+
+        assertEquals(List.of(1L), result.getContent());
+        assertEquals(1, result.getTotalElements());
+    }
+
+    @Test
+    void testSearchMatchesAnyTermIgnoringCaseAndPunctuation() {
+        var result = postSearchIndex.search("JAVA, tomatoes!", PageRequest.of(0, 10));
+
+        assertEquals(3, result.getTotalElements());
+        // The rarer term outweighs the one shared by two posts
+        assertEquals(3L, result.getContent().getFirst());
+    }
+
+    @Test
+    void testSearchPaginatesRankedHits() {
+        var firstPage = postSearchIndex.search("java", PageRequest.of(0, 1));
+        var secondPage = postSearchIndex.search("java", PageRequest.of(1, 1));
+        var thirdPage = postSearchIndex.search("java", PageRequest.of(2, 1));
+
+        assertEquals(List.of(2L), firstPage.getContent());
+        assertEquals(List.of(1L), secondPage.getContent());
+        assertTrue(thirdPage.getContent().isEmpty());
+        assertEquals(2, thirdPage.getTotalElements());
+    }
+
+    @Test
+    void testSavedEventReplacesIndexedTerms() {
+        postSearchIndex.onPostSaved(new PostSavedEvent(post(3L, "Gardening", "Peppers need water", List.of("outdoors"))));
+
+        assertTrue(postSearchIndex.search("tomatoes", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(List.of(3L), postSearchIndex.search("peppers", PageRequest.of(0, 10)).getContent());
+        assertEquals(3, postSearchIndex.size());
+    }
+
+    @Test
+    void testDeletedEventRemovesPost() {
+        postSearchIndex.onPostDeleted(new PostDeletedEvent(3L));
+
+        assertTrue(postSearchIndex.search("gardening", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(2, postSearchIndex.size());
+    }
+
+    @Test
+    void testIndexIfAbsentKeepsNewerEntry() {
+        postSearchIndex.indexIfAbsent(post(3L, "Gardening", "Stale snapshot", List.of("outdoors")));
+
+        assertTrue(postSearchIndex.search("stale", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void testPostDeletedDuringLoadIsNotIndexed() {
+        postSearchIndex.startLoad();
+        postSearchIndex.onPostDeleted(new PostDeletedEvent(4L));
+        postSearchIndex.indexIfAbsent(post(4L, "Ghost", "Deleted while loading", List.of("outdoors")));
+        postSearchIndex.finishLoad();
+
+        assertTrue(postSearchIndex.search("ghost", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    private static PostResponseDto post(Long id, String title, String content, List<String> tags) {
+        return new PostResponseDto(id, title, content, "category", tags, true, LocalDateTime.now(), LocalDateTime.now(), 0L);
+    }
+}
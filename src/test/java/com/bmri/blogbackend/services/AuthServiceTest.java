@@ -0,0 +1,121 @@
+package com.bmri.blogbackend.services;
+
+import com.bmri.blogbackend.domain.UserEntity;
+import com.bmri.blogbackend.dtos.request.LoginRequestDto;
+import com.bmri.blogbackend.enums.Role;
+import com.bmri.blogbackend.exceptions.ServiceUnavailableException;
+import com.bmri.blogbackend.exceptions.TooManyRequestsException;
+import com.bmri.blogbackend.repositories.UserRepository;
+import com.bmri.blogbackend.services.implementations.AuthServiceImpl;
+import com.bmri.blogbackend.utils.JwtUtils;
+import com.bmri.blogbackend.utils.LoginThrottle;
+import com.bmri.blogbackend.utils.PasswordEncoderUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    private static final String ADDRESS = "10.0.0.1";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    private AuthServiceImpl authService;
+
+    private static UserEntity admin;
+
+    @BeforeAll
+    static void setUpUser() {
+        admin = new UserEntity("admin", PasswordEncoderUtils.encode("secret"), Role.ADMIN, "Admin", "User");
+    }
+
+    @BeforeEach
+    void setUp() {
+        authService = new AuthServiceImpl(userRepository, jwtUtils, new LoginThrottle(2, 3, Duration.ofMinutes(1)), 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        authService.shutdown();
+    }
+
+    @Test
+    void testLogin() {
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+        when(jwtUtils.generateToken("admin", Role.ADMIN)).thenReturn("token");
+
+        var result = authService.login(login("admin", "secret"), ADDRESS).join();
+
+        assertEquals("token", result.orElseThrow().getToken());
+    }
+
+    @Test
+    void testLoginWrongPassword() {
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+
+        var result = authService.login(login("admin", "wrong"), ADDRESS).join();
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(jwtUtils);
+    }
+
+    @Test
+    void testLoginThrottlesUsernameAfterFailures() {
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+        authService.login(login("admin", "wrong"), ADDRESS).join();
+        authService.login(login("admin", "wrong"), "10.0.0.2").join();
+
+        assertThrows(TooManyRequestsException.class, () -> authService.login(login("admin", "secret"), "10.0.0.3"));
+        verify(userRepository, times(2)).findByUsername("admin");
+    }
+
+    @Test
+    void testLoginThrottlesAddressAfterFailures() {
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.empty());
+        authService.login(login("user1", "wrong"), ADDRESS).join();
+        authService.login(login("user2", "wrong"), ADDRESS).join();
+        authService.login(login("user3", "wrong"), ADDRESS).join();
+
+        assertThrows(TooManyRequestsException.class, () -> authService.login(login("user4", "wrong"), ADDRESS));
+    }
+
+    @Test
+    void testLoginRejectedWhenHashingPoolSaturated() {
+        // Attempts in flight count against the throttle, so it must allow more of them than the pool holds
+        authService.shutdown();
+        authService = new AuthServiceImpl(userRepository, jwtUtils, new LoginThrottle(5, 5, Duration.ofMinutes(1)), 1, 1);
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+        when(jwtUtils.generateToken("admin", Role.ADMIN)).thenReturn("token");
+
+        // One running and one queued verification fill the pool
+        var running = authService.login(login("admin", "secret"), ADDRESS);
+        var queued = authService.login(login("admin", "secret"), ADDRESS);
+
+        assertThrows(ServiceUnavailableException.class, () -> authService.login(login("admin", "secret"), ADDRESS));
+        assertTrue(running.join().isPresent());
+        assertTrue(queued.join().isPresent());
+    }
+
+    private static LoginRequestDto login(String username, String password) {
+        var loginRequest = new LoginRequestDto();
+        loginRequest.setUsername(username);
+        loginRequest.setPassword(password);
+        return loginRequest;
+    }
+
+}
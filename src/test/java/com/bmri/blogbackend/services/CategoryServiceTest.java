@@ -0,0 +1,106 @@
+package com.bmri.blogbackend.services;
+
+import com.bmri.blogbackend.dtos.response.CategoryCountDto;
+import com.bmri.blogbackend.dtos.response.PostResponseDto;
+import com.bmri.blogbackend.events.PostDeletedEvent;
+import com.bmri.blogbackend.events.PostSavedEvent;
+import com.bmri.blogbackend.repositories.PostRepository;
+import com.bmri.blogbackend.repositories.projections.PostCategoryView;
+import com.bmri.blogbackend.services.implementations.CategoryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @InjectMocks
+    private CategoryServiceImpl categoryService;
+
+    @BeforeEach
+    void setUp() {
+        var projectionFactory = new SpelAwareProxyProjectionFactory();
+        when(postRepository.findByCategoryIsNotNull()).thenReturn(List.of(
+                projectionFactory.createProjection(PostCategoryView.class, Map.of("id", 1L, "category", "java", "published", true)),
+                projectionFactory.createProjection(PostCategoryView.class, Map.of("id", 2L, "category", "java", "published", false)),
+                projectionFactory.createProjection(PostCategoryView.class, Map.of("id", 3L, "category", "cooking", "published", true))));
+        categoryService.loadCounts();
+    }
+
+    @Test
+    void testGetCategories() {
+        assertEquals(List.of("cooking:1/1", "java:2/1"), describe(categoryService.getCategories()));
+        verify(postRepository, times(1)).findByCategoryIsNotNull();
+    }
+
+    @Test
+    void testCreatedPostIncrementsCounts() {
+        categoryService.onPostSaved(new PostSavedEvent(post(4L, "travel", false)));
+
+        assertEquals(List.of("cooking:1/1", "java:2/1", "travel:1/0"), describe(categoryService.getCategories()));
+    }
+
+    @Test
+    void testRecategorizedPostMovesCounts() {
+        categoryService.onPostSaved(new PostSavedEvent(post(2L, "cooking", true)));
+
+        assertEquals(List.of("cooking:2/2", "java:1/1"), describe(categoryService.getCategories()));
+    }
+
+    @Test
+    void testUncategorizedPostIsNotCounted() {
+        categoryService.onPostSaved(new PostSavedEvent(post(3L, null, true)));
+
+        assertEquals(List.of("java:2/1"), describe(categoryService.getCategories()));
+    }
+
+    @Test
+    void testDeletedPostDecrementsCounts() {
+        categoryService.onPostDeleted(new PostDeletedEvent(1L));
+
+        assertEquals(List.of("cooking:1/1", "java:1/0"), describe(categoryService.getCategories()));
+    }
+
+    @Test
+    void testPostsWrittenDuringLoadAreNotCountedFromSnapshot() {
+        var projectionFactory = new SpelAwareProxyProjectionFactory();
+        when(postRepository.findByCategoryIsNotNull()).thenAnswer(invocation -> {
+            categoryService.onPostDeleted(new PostDeletedEvent(1L));
+            categoryService.onPostSaved(new PostSavedEvent(post(3L, null, true)));
+            return List.of(
+                    projectionFactory.createProjection(PostCategoryView.class, Map.of("id", 1L, "category", "java", "published", true)),
+                    projectionFactory.createProjection(PostCategoryView.class, Map.of("id", 2L, "category", "java", "published", false)),
+                    projectionFactory.createProjection(PostCategoryView.class, Map.of("id", 3L, "category", "cooking", "published", true)));
+        });
+
+        categoryService.loadCounts();
+
+        assertEquals(List.of("java:1/0"), describe(categoryService.getCategories()));
+    }
+
+    private static List<String> describe(List<CategoryCountDto> categories) {
+        return categories.stream()
+                .map(category -> category.getCategory() + ":" + category.getTotal() + "/" + category.getPublished())
+                .toList();
+    }
+
+    private static PostResponseDto post(Long id, String category, boolean published) {
+        return new PostResponseDto(id, "post" + id, "content" + id, category, List.of(), published,
+                LocalDateTime.now(), LocalDateTime.now(), 0L);
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.bmri.blogbackend.services;
+
+import com.bmri.blogbackend.dtos.request.PostCreateDto;
+import com.bmri.blogbackend.dtos.response.BatchItemResultDto;
+import com.bmri.blogbackend.dtos.response.BatchResultDto;
+import com.bmri.blogbackend.dtos.response.ImportLineErrorDto;
+import com.bmri.blogbackend.enums.BatchItemStatus;
+import com.bmri.blogbackend.services.implementations.PostImportServiceImpl;
+import com.bmri.blogbackend.services.interfaces.PostService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostImportServiceTest {
+
+    private static final String IMPORT_BODY = """
+            {"title":"post1","content":"content1","tags":["tag1"],"published":true}
+
+            {"title":
+            {"title":"post2","content":"content2"}
+            {"title":"post3","content":"content3"}
+            null
+            """;
+
+    @Mock
+    private PostService postService;
+
+    @Test
+    void testImportPosts() {
+        when(postService.createPosts(anyList())).thenReturn(
+                new BatchResultDto(2, 0, List.of(
+                        new BatchItemResultDto(0, BatchItemStatus.CREATED, 1L, List.of()),
+                        new BatchItemResultDto(1, BatchItemStatus.CREATED, 2L, List.of()))),
+                new BatchResultDto(0, 1, List.of(
+                        new BatchItemResultDto(0, BatchItemStatus.CONFLICT, null, List.of("Post already exists")))));
+
+        var result = importService(1000).importPosts(input(IMPORT_BODY));
+
+        assertEquals(6, result.getLines());
+        assertEquals(2, result.getCreated());
+        assertEquals(3, result.getFailed());
+        assertFalse(result.isErrorsTruncated());
+        assertEquals(List.of(3L, 5L, 6L), result.getErrors().stream().map(ImportLineErrorDto::getLine).sorted().toList());
+        assertTrue(result.getErrors().stream().anyMatch(error -> error.getLine() == 5
+                && error.getStatus() == BatchItemStatus.CONFLICT));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PostCreateDto>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(postService, times(2)).createPosts(chunks.capture());
+        assertEquals(List.of("post1", "post2"), chunks.getAllValues().get(0).stream().map(PostCreateDto::getTitle).toList());
+        assertEquals(List.of("post3"), chunks.getAllValues().get(1).stream().map(PostCreateDto::getTitle).toList());
+    }
+
+    @Test
+    void testImportPostsTruncatesErrors() {
+        var result = importService(1).importPosts(input("{\n[]\n"));
+
+        assertEquals(2, result.getFailed());
+        assertEquals(1, result.getErrors().size());
+        assertTrue(result.isErrorsTruncated());
+        verifyNoInteractions(postService);
+    }
+
+    private PostImportServiceImpl importService(int maxReportedErrors) {
+        return new PostImportServiceImpl(postService, Jackson2ObjectMapperBuilder.json().build(), 2, maxReportedErrors);
+    }
+
+    private static ByteArrayInputStream input(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
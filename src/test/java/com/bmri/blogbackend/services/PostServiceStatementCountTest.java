@@ -0,0 +1,224 @@
+package com.bmri.blogbackend.services;
+
+import com.bmri.blogbackend.cache.PostCache;
+import com.bmri.blogbackend.config.JpaConfig;
+import com.bmri.blogbackend.domain.PostEntity;
+import com.bmri.blogbackend.dtos.request.PostCreateDto;
+import com.bmri.blogbackend.exceptions.ObjectNotFoundException;
+import com.bmri.blogbackend.exceptions.PreconditionFailedException;
+import com.bmri.blogbackend.repositories.PostRepository;
+import com.bmri.blogbackend.search.PostSearchIndex;
+import com.bmri.blogbackend.services.implementations.PostServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({JpaConfig.class, PostServiceImpl.class, PostCache.class, PostSearchIndex.class})
+class PostServiceStatementCountTest {
+
+    private static final int POST_COUNT = 250;
+    private static final int SMALL_PAGE = 5;
+    private static final int LARGE_PAGE = 100;
+    private static final int BATCH_COUNT = 200;
+
+    @Autowired
+    private PostServiceImpl postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < POST_COUNT; i++) {
+            postRepository.save(new PostEntity("post" + i, "content" + i, "category" + (i % 2),
+                    List.of("tag", "tag" + i), i % 2 == 0));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testGetAllPostsStatementCount() {
+        assertConstantStatementCount(3, size -> postService.getAllPosts(PageRequest.of(0, size)));
+    }
+
+    @Test
+    void testGetAllByPublishedStatementCount() {
+        assertConstantStatementCount(3, size -> postService.getAllByPublished(true, PageRequest.of(0, size)));
+    }
+
+    @Test
+    void testGetPostsByCategoryStatementCount() {
+        assertConstantStatementCount(3, size -> postService.getPostsByCategory("category1", PageRequest.of(0, size)));
+    }
+
+    @Test
+    void testGetPostsByTagStatementCount() {
+        assertConstantStatementCount(3, size -> postService.getPostsByTag("tag", PageRequest.of(0, size)));
+    }
+
+    @Test
+    void testGetPostsByTagMatchesExactTag() {
+        assertEquals(POST_COUNT, postService.getPostsByTag("tag", PageRequest.of(0, SMALL_PAGE)).getTotalElements());
+        assertEquals(1, postService.getPostsByTag("tag7", PageRequest.of(0, SMALL_PAGE)).getTotalElements());
+        assertEquals(1, postService.scrollPostsByTag("tag7", null, SMALL_PAGE).getSize());
+    }
+
+    @Test
+    void testGetPostsByTagCountsDuplicateTagsOnce() {
+        var post = postRepository.save(new PostEntity("duplicate tags", "content", "category", List.of("dup", "dup"), true));
+        entityManager.flush();
+        assertEquals(List.of("dup"), post.getTags());
+
+        // Rows written before tags were deduplicated on save
+        entityManager.createNativeQuery("insert into post_tags (post_id, tag) values (:id, 'tag7')")
+                .setParameter("id", postRepository.getByTitle("post7").orElseThrow().getId())
+                .executeUpdate();
+        entityManager.clear();
+
+        assertEquals(1, postService.getPostsByTag("dup", PageRequest.of(0, SMALL_PAGE)).getTotalElements());
+        assertEquals(1, postService.getPostsByTag("tag7", PageRequest.of(0, SMALL_PAGE)).getContent().size());
+        assertEquals(1, postService.getPostsByTag("tag7", PageRequest.of(0, SMALL_PAGE)).getTotalElements());
+        assertEquals(1, postService.scrollPostsByTag("tag7", null, SMALL_PAGE).getSize());
+    }
+
+    @Test
+    void testScrollAllPostsStatementCount() {
+        assertConstantStatementCount(2, size -> postService.scrollAllPosts(null, size));
+    }
+
+    @Test
+    void testFindAllEntitiesStatementCount() {
+        assertConstantStatementCount(3, size -> postRepository.findAll(PageRequest.of(0, size))
+                .forEach(PostEntity::getTags));
+    }
+
+    @Test
+    void testExportPostsStatementCount() {
+        entityManager.clear();
+        statistics.clear();
+        var exportedIds = new ArrayList<Long>();
+
+        var count = postService.exportPosts(true, null, post -> exportedIds.add(post.getId()));
+
+        assertEquals(POST_COUNT / 2, count);
+        assertEquals(POST_COUNT / 2, exportedIds.size());
+        // One streamed query for the posts plus one tag lookup per chunk
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testPartialUpdatesStatementCount() {
+        var postId = postRepository.getByTitle("post0").orElseThrow().getId();
+
+        entityManager.clear();
+        statistics.clear();
+        var published = postService.togglePublish(postId, false, null);
+        var updated = postService.updateContent(postId, "new content", null);
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionRemoveCount() + statistics.getCollectionRecreateCount());
+        assertFalse(published.isPublished());
+        assertEquals("new content", updated.getContent());
+        assertEquals(List.of("tag", "tag0"), updated.getTags());
+        assertEquals(published.getVersion() + 1, updated.getVersion());
+    }
+
+    @Test
+    void testSummariesCarryContentStats() {
+        var postId = postRepository.getByTitle("post0").orElseThrow().getId();
+        postService.updateContent(postId, "one two three", null);
+
+        var summary = postService.scrollAllPosts(null, POST_COUNT).getContent().stream()
+                .filter(post -> post.getId().equals(postId)).findFirst().orElseThrow();
+
+        assertEquals("one two three", summary.getExcerpt());
+        assertEquals(3, summary.getWordCount());
+        assertEquals(1, summary.getReadingTimeMinutes());
+        assertTrue(postService.getAllPosts(PageRequest.of(0, SMALL_PAGE)).getContent().stream()
+                .allMatch(post -> post.getExcerpt() != null && post.getWordCount() > 0));
+    }
+
+    @Test
+    void testDeletePostStatementCount() {
+        var postId = postRepository.getByTitle("post0").orElseThrow().getId();
+
+        entityManager.clear();
+        statistics.clear();
+        postService.deletePost(postId, null);
+
+        // The bulk delete of the post and its tags, with no select beforehand
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertTrue(postRepository.findById(postId).isEmpty());
+        assertThrows(ObjectNotFoundException.class, () -> postService.deletePost(postId, null));
+    }
+
+    @Test
+    void testStaleVersionRejected() {
+        var post = postService.getPostById(postRepository.getByTitle("post0").orElseThrow().getId());
+
+        var updated = postService.togglePublish(post.getId(), false, post.getVersion());
+
+        assertThrows(PreconditionFailedException.class,
+                () -> postService.updateContent(post.getId(), "stale", post.getVersion()));
+        assertThrows(PreconditionFailedException.class,
+                () -> postService.deletePost(post.getId(), post.getVersion()));
+        assertEquals("fresh", postService.updateContent(post.getId(), "fresh", updated.getVersion()).getContent());
+    }
+
+    @Test
+    void testCreatePostsBatchesInserts() {
+        var newPosts = IntStream.range(0, BATCH_COUNT)
+                .mapToObj(i -> new PostCreateDto("batch" + i, "content" + i, "category", List.of("tag", "batch" + i), true))
+                .toList();
+
+        entityManager.clear();
+        statistics.clear();
+        var result = postService.createPosts(newPosts);
+
+        assertEquals(BATCH_COUNT, result.getCreated());
+        assertEquals(POST_COUNT + BATCH_COUNT, postRepository.count());
+        // 200 posts and 400 tag rows: one title lookup, a few sequence calls and one statement per JDBC batch
+        assertTrue(statistics.getPrepareStatementCount() < 15,
+                "Expected batched inserts, got " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    private void assertConstantStatementCount(long expected, IntConsumer pageQuery) {
+        assertEquals(expected, countStatements(SMALL_PAGE, pageQuery));
+        assertEquals(expected, countStatements(LARGE_PAGE, pageQuery));
+    }
+
+    private long countStatements(int pageSize, IntConsumer pageQuery) {
+        entityManager.clear();
+        statistics.clear();
+        pageQuery.accept(pageSize);
+        return statistics.getPrepareStatementCount();
+    }
+
+}
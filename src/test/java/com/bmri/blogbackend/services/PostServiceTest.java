@@ -1,26 +1,54 @@
 package com.bmri.blogbackend.services;
 
+import com.bmri.blogbackend.cache.PostCache;
 import com.bmri.blogbackend.domain.PostEntity;
 import com.bmri.blogbackend.dtos.request.PostCreateDto;
+import com.bmri.blogbackend.dtos.response.BatchItemResultDto;
+import com.bmri.blogbackend.dtos.response.PostResponseDto;
+import com.bmri.blogbackend.enums.BatchItemStatus;
+import com.bmri.blogbackend.events.PostDeletedEvent;
+import com.bmri.blogbackend.events.PostSavedEvent;
+import com.bmri.blogbackend.exceptions.BadRequestException;
 import com.bmri.blogbackend.exceptions.ObjectNotFoundException;
+import com.bmri.blogbackend.exceptions.PreconditionFailedException;
+import com.bmri.blogbackend.mappers.PostMapper;
 import com.bmri.blogbackend.repositories.PostRepository;
+import com.bmri.blogbackend.repositories.projections.PostSummaryView;
+import com.bmri.blogbackend.repositories.projections.PostTagView;
+import com.bmri.blogbackend.repositories.projections.PostVersionView;
+import com.bmri.blogbackend.search.PostSearchIndex;
 import com.bmri.blogbackend.services.implementations.PostServiceImpl;
+import com.bmri.blogbackend.utils.CursorUtils;
+import jakarta.persistence.EntityManager;
 import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,14 +60,30 @@ class PostServiceTest {
     @Mock
     private PostRepository postRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private PostCache postCache = new PostCache(100, Duration.ofMinutes(10));
+
+    @Spy
+    private PostSearchIndex postSearchIndex = new PostSearchIndex();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private EntityManager entityManager;
+
     private PostServiceImpl postService;
 
     private static List<PostEntity> postEntities;
-    private static Page<PostEntity> postEntitiesPage;
-    private static Page<PostEntity> publishedPostEntitiesPage;
-    private static Page<PostEntity> categoryPostEntitiesPage;
-    private static Page<PostEntity> tagPostEntitiesPage;
+    private static List<PostSummaryView> postSummaries;
+    private static List<PostTagView> postTags;
+    private static Page<PostSummaryView> postEntitiesPage;
+    private static Page<PostSummaryView> publishedPostEntitiesPage;
+    private static Page<PostSummaryView> categoryPostEntitiesPage;
+    private static Page<PostSummaryView> tagPostEntitiesPage;
     private static Pageable pageRequest;
     private static PostCreateDto postCreateDto;
 
@@ -49,27 +93,44 @@ class PostServiceTest {
         post1.setId(1L);
         post1.setCreatedAt(LocalDateTime.now());
         post1.setUpdatedAt(LocalDateTime.now());
+        post1.setVersion(0L);
 
         var post2 = new PostEntity("post2", "content2", "category2", List.of("tag3", "tag4"), true);
         post2.setId(2L);
         post2.setCreatedAt(LocalDateTime.now());
         post2.setUpdatedAt(LocalDateTime.now());
+        post2.setVersion(0L);
 
         postEntities = List.of(post1, post2);
+        var projectionFactory = new SpelAwareProxyProjectionFactory();
+        postSummaries = postEntities.stream()
+                .map(postEntity -> projectionFactory.createProjection(PostSummaryView.class, postEntity))
+                .toList();
+        postTags = postEntities.stream()
+                .flatMap(postEntity -> postEntity.getTags().stream()
+                        .map(tag -> projectionFactory.createProjection(PostTagView.class,
+                                Map.of("postId", postEntity.getId(), "tag", tag))))
+                .toList();
         pageRequest = PageRequest.of(0, 2);
-        postEntitiesPage = new PageImpl<>(postEntities, pageRequest, postEntities.size());
-        publishedPostEntitiesPage = new PageImpl<>(postEntities.stream()
-                .filter(PostEntity::isPublished).toList(), pageRequest, postEntities.size());
-        categoryPostEntitiesPage = new PageImpl<>(postEntities.stream()
-                .filter(postEntity -> postEntity.getCategory().equals("category1")).toList(), pageRequest, postEntities.size());
-        tagPostEntitiesPage = new PageImpl<>(postEntities.stream()
-                .filter(postEntity -> postEntity.getTags().contains("tag1")).toList(), pageRequest, postEntities.size());
+        postEntitiesPage = new PageImpl<>(postSummaries, pageRequest, postSummaries.size());
+        publishedPostEntitiesPage = new PageImpl<>(postSummaries.stream()
+                .filter(PostSummaryView::isPublished).toList(), pageRequest, postSummaries.size());
+        categoryPostEntitiesPage = new PageImpl<>(postSummaries.stream()
+                .filter(postSummary -> postSummary.getCategory().equals("category1")).toList(), pageRequest, postSummaries.size());
+        tagPostEntitiesPage = new PageImpl<>(postSummaries.stream()
+                .filter(postSummary -> postSummary.getId().equals(1L)).toList(), pageRequest, postSummaries.size());
         postCreateDto = new PostCreateDto("post1", "content1", "category1", List.of("tag1", "tag2"), false);
     }
 
+    @BeforeEach
+    void createService() {
+        postService = postService(false);
+    }
+
     @Test
     void testGetAllPosts() {
-        when(postRepository.findAll(any(Pageable.class))).thenReturn(postEntitiesPage);
+        when(postRepository.findBy(any(Pageable.class))).thenReturn(postEntitiesPage);
+        when(postRepository.findTagsByPostIdIn(anyCollection())).thenReturn(postTags);
 
         var result = postService.getAllPosts(pageRequest);
 
@@ -77,14 +138,18 @@ class PostServiceTest {
 
         assertEquals(postEntities.getFirst().getId(), result.getContent().get(0).getId());
         assertEquals(postEntities.get(1).getId(), result.getContent().get(1).getId());
+        assertEquals(postEntities.getFirst().getTags(), result.getContent().get(0).getTags());
+        assertEquals(postEntities.get(1).getTags(), result.getContent().get(1).getTags());
 
-        verify(postRepository, times(1)).findAll(any(Pageable.class));
+        verify(postRepository, times(1)).findBy(any(Pageable.class));
+        verify(postRepository, times(1)).findTagsByPostIdIn(List.of(1L, 2L));
     }
 
     @Test
     void testGetAllByPublished() {
         when(postRepository.getByPublished(anyBoolean(), any(Pageable.class)))
                 .thenReturn(publishedPostEntitiesPage);
+        when(postRepository.findTagsByPostIdIn(anyCollection())).thenReturn(postTags);
 
         var result = postService.getAllByPublished(true, pageRequest);
 
@@ -105,6 +170,18 @@ class PostServiceTest {
         verify(postRepository, times(1)).findById(anyLong());
     }
 
+    @Test
+    void testPostByIdCached() {
+        when(postRepository.findById(anyLong())).thenReturn(Optional.ofNullable(postEntities.getFirst()));
+
+        var first = postService.getPostById(1L);
+        var second = postService.getPostById(1L);
+
+        assertSame(first, second);
+
+        verify(postRepository, times(1)).findById(anyLong());
+    }
+
     @Test
     void testPostByIdNotFound() {
         when(postRepository.findById(anyLong())).thenThrow(new ObjectNotFoundException("Post not found"));
@@ -125,6 +202,21 @@ class PostServiceTest {
         verify(postRepository, times(1)).getByTitle(anyString());
     }
 
+    @Test
+    void testPostByTitleCached() {
+        when(postRepository.getByTitle(anyString())).thenReturn(Optional.ofNullable(postEntities.getFirst()));
+
+        postService.getPostByTitle("post1");
+        var result = postService.getPostByTitle("post1");
+        var byId = postService.getPostById(postEntities.getFirst().getId());
+
+        assertEquals(postEntities.getFirst().getTitle(), result.getTitle());
+        assertSame(result, byId);
+
+        verify(postRepository, times(1)).getByTitle(anyString());
+        verify(postRepository, never()).findById(anyLong());
+    }
+
     @Test
     void testPostByTitleNotFound() {
         when(postRepository.getByTitle(anyString())).thenThrow(new ObjectNotFoundException("Post not found"));
@@ -134,10 +226,44 @@ class PostServiceTest {
         verify(postRepository, times(1)).getByTitle(anyString());
     }
 
+    @Test
+    void testGetPostVersion() {
+        var post = postEntities.getFirst();
+        var version = new SpelAwareProxyProjectionFactory().createProjection(PostVersionView.class, post);
+        when(postRepository.findVersionById(anyLong())).thenReturn(Optional.of(version));
+
+        var result = postService.getPostVersion(post.getId());
+
+        assertEquals(post.getId(), result.getId());
+        assertEquals(post.getUpdatedAt(), result.getUpdatedAt());
+
+        verify(postRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testGetPostVersionFromCache() {
+        when(postRepository.findById(anyLong())).thenReturn(Optional.ofNullable(postEntities.getFirst()));
+
+        postService.getPostById(1L);
+        var result = postService.getPostVersion(1L);
+
+        assertEquals(postEntities.getFirst().getUpdatedAt(), result.getUpdatedAt());
+
+        verify(postRepository, never()).findVersionById(anyLong());
+    }
+
+    @Test
+    void testGetPostVersionNotFound() {
+        when(postRepository.findVersionById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(ObjectNotFoundException.class, () -> postService.getPostVersion(1L));
+    }
+
     @Test
     void testGetPostsByCategory() {
         when(postRepository.getByCategory(anyString(), any(Pageable.class)))
                 .thenReturn(categoryPostEntitiesPage);
+        when(postRepository.findTagsByPostIdIn(anyCollection())).thenReturn(postTags);
 
         var result = postService.getPostsByCategory("category1", pageRequest);
 
@@ -149,15 +275,76 @@ class PostServiceTest {
 
     @Test
     void testGetPostsByTag() {
-        when(postRepository.getByTagsContaining(anyString(), any(Pageable.class)))
+        when(postRepository.getDistinctByTags(anyString(), any(Pageable.class)))
                 .thenReturn(tagPostEntitiesPage);
+        when(postRepository.findTagsByPostIdIn(anyCollection())).thenReturn(postTags);
 
         var result = postService.getPostsByTag("tag1", pageRequest);
 
         assertEquals(categoryPostEntitiesPage.getTotalElements(), result.getTotalElements());
-        assertEquals(categoryPostEntitiesPage.getContent().getFirst().getTags().getFirst(), result.getContent().getFirst().getTags().getFirst());
+        assertEquals(postEntities.getFirst().getTags().getFirst(), result.getContent().getFirst().getTags().getFirst());
 
-        verify(postRepository, times(1)).getByTagsContaining(anyString(), any(Pageable.class));
+        verify(postRepository, times(1)).getDistinctByTags(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void testExportPosts() {
+        when(postRepository.streamForExport(null, "category1")).thenReturn(postEntities.stream());
+        when(postRepository.findTagsByPostIdIn(anyCollection())).thenReturn(postTags);
+        var exported = new ArrayList<PostResponseDto>();
+
+        var count = postService.exportPosts(null, "category1", exported::add);
+
+        assertEquals(postEntities.size(), count);
+        assertEquals(List.of(1L, 2L), exported.stream().map(PostResponseDto::getId).toList());
+        assertEquals(postEntities.get(1).getTags(), exported.get(1).getTags());
+
+        verify(postRepository, times(1)).findTagsByPostIdIn(List.of(1L, 2L));
+        verify(entityManager, times(postEntities.size())).detach(any(PostEntity.class));
+    }
+
+    @Test
+    void testScrollAllPosts() {
+        var window = Window.from(postSummaries, index -> ScrollPosition.keyset(), true);
+        when(postRepository.findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class))).thenReturn(window);
+        when(postRepository.findTagsByPostIdIn(anyCollection())).thenReturn(postTags);
+
+        var result = postService.scrollAllPosts(null, 2);
+
+        var last = postEntities.getLast();
+        assertEquals(postEntities.size(), result.getSize());
+        assertTrue(result.isHasNext());
+        assertEquals(CursorUtils.encode(last.getCreatedAt(), last.getId()), result.getNextCursor());
+        assertEquals(last.getTags(), result.getContent().getLast().getTags());
+
+        verify(postRepository, times(1)).findBy(any(ScrollPosition.class), any(Sort.class), eq(Limit.of(2)));
+    }
+
+    @Test
+    void testScrollAllPostsAfterCursor() {
+        var last = postEntities.getLast();
+        var cursor = CursorUtils.encode(last.getCreatedAt(), last.getId());
+        when(postRepository.findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(Window.from(List.of(), index -> ScrollPosition.keyset(), false));
+
+        var result = postService.scrollAllPosts(cursor, 2);
+
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        verify(postRepository, never()).findTagsByPostIdIn(anyCollection());
+
+        verify(postRepository, times(1)).findBy(
+                argThat(position -> position instanceof KeysetScrollPosition keyset
+                        && keyset.getKeys().get("id").equals(last.getId())
+                        && keyset.getKeys().get("createdAt").equals(last.getCreatedAt())),
+                any(Sort.class), any(Limit.class));
+    }
+
+    @Test
+    void testScrollAllPostsInvalidCursor() {
+        assertThrows(BadRequestException.class, () -> postService.scrollAllPosts("not-a-cursor", 2));
+
+        verify(postRepository, never()).findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class));
     }
 
     @Test
@@ -174,6 +361,30 @@ class PostServiceTest {
         assertEquals(postCreateDto.isPublished(), result.isPublished());
 
         verify(postRepository, times(1)).save(any(PostEntity.class));
+        verify(eventPublisher, times(1)).publishEvent(any(PostSavedEvent.class));
+    }
+
+    @Test
+    void testSearchPosts() {
+        postEntities.forEach(postEntity -> postSearchIndex.index(PostMapper.toDto(postEntity)));
+        when(postRepository.findByIdIn(anyCollection())).thenReturn(postSummaries);
+        when(postRepository.findTagsByPostIdIn(anyCollection())).thenReturn(postTags);
+
+        var result = postService.searchPosts("post2 tag1", pageRequest);
+
+        assertEquals(2, result.getTotalElements());
+        // Hits are returned in index order even though the repository returns them by id
+        assertEquals(postEntities.get(1).getId(), result.getContent().get(0).getId());
+        assertEquals(postEntities.getFirst().getId(), result.getContent().get(1).getId());
+        assertEquals(postEntities.getFirst().getTags(), result.getContent().get(1).getTags());
+    }
+
+    @Test
+    void testSearchPostsNoHits() {
+        var result = postService.searchPosts("missing", pageRequest);
+
+        assertEquals(0, result.getTotalElements());
+        verifyNoInteractions(postRepository);
     }
 
     @Test
@@ -185,6 +396,44 @@ class PostServiceTest {
         verify(postRepository, times(1)).save(any(PostEntity.class));
     }
 
+    @Test
+    void testCreatePosts() {
+        var newPosts = List.of(postCreateDto,
+                new PostCreateDto("", "content", null, null, false),
+                new PostCreateDto("post1", "duplicate", null, null, false),
+                new PostCreateDto("post2", "content2", "category2", List.of("tag3", "tag4"), true),
+                new PostCreateDto("post3", "content3", null, null, false));
+
+        when(postRepository.findTitlesByTitleIn(anyCollection())).thenReturn(List.of("post3"));
+        when(postRepository.saveAll(anyList())).thenReturn(postEntities);
+
+        var result = postService.createPosts(newPosts);
+
+        assertEquals(2, result.getCreated());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(BatchItemStatus.CREATED, BatchItemStatus.INVALID, BatchItemStatus.CONFLICT,
+                BatchItemStatus.CREATED, BatchItemStatus.CONFLICT),
+                result.getItems().stream().map(BatchItemResultDto::getStatus).toList());
+        assertEquals(1L, result.getItems().get(0).getId());
+        assertEquals(2L, result.getItems().get(3).getId());
+        assertEquals(List.of("Title is mandatory"), result.getItems().get(1).getErrors());
+
+        verify(postRepository, times(1)).saveAll(anyList());
+        verify(postRepository, times(1)).flush();
+        verify(entityManager, times(1)).clear();
+        verify(eventPublisher, times(2)).publishEvent(any(PostSavedEvent.class));
+    }
+
+    @Test
+    void testUpdatePostStaleVersion() {
+        when(postRepository.findById(anyLong())).thenReturn(Optional.ofNullable(postEntities.getFirst()));
+
+        assertThrows(PreconditionFailedException.class, () -> postService.updatePost(1L, postCreateDto, 4L));
+
+        verify(postRepository, never()).saveAndFlush(any(PostEntity.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     void testCreatePostViolation() {
         when(postRepository.save(any(PostEntity.class))).thenThrow(new ConstraintViolationException("Constraint violated", new HashSet<>()));
@@ -197,9 +446,9 @@ class PostServiceTest {
     @Test
     void testUpdatePost() {
         when(postRepository.findById(anyLong())).thenReturn(Optional.ofNullable(postEntities.getFirst()));
-        when(postRepository.save(any(PostEntity.class))).thenReturn(postEntities.getFirst());
+        when(postRepository.saveAndFlush(any(PostEntity.class))).thenReturn(postEntities.getFirst());
 
-        var result = postService.updatePost(1L, postCreateDto);
+        var result = postService.updatePost(1L, postCreateDto, null);
 
         assertEquals(postEntities.getFirst().getId(), result.getId());
         assertEquals(postCreateDto.getTitle(), result.getTitle());
@@ -209,65 +458,119 @@ class PostServiceTest {
         assertEquals(postCreateDto.isPublished(), result.isPublished());
         
         verify(postRepository, times(1)).findById(anyLong());
-        verify(postRepository, times(1)).save(any(PostEntity.class));
+        verify(postRepository, times(1)).saveAndFlush(any(PostEntity.class));
+        verify(eventPublisher, times(1)).publishEvent(any(PostSavedEvent.class));
     }
 
     @Test
     void testUpdatePostConflict() {
         when(postRepository.findById(anyLong())).thenReturn(Optional.ofNullable(postEntities.getFirst()));
-        when(postRepository.save(any(PostEntity.class))).thenThrow(new DataIntegrityViolationException("Title already exists"));
+        when(postRepository.saveAndFlush(any(PostEntity.class))).thenThrow(new DataIntegrityViolationException("Title already exists"));
 
-        assertThrows(DataIntegrityViolationException.class, () -> postService.updatePost(1L, postCreateDto));
+        assertThrows(DataIntegrityViolationException.class, () -> postService.updatePost(1L, postCreateDto, null));
 
         verify(postRepository, times(1)).findById(anyLong());
-        verify(postRepository, times(1)).save(any(PostEntity.class));
+        verify(postRepository, times(1)).saveAndFlush(any(PostEntity.class));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void testUpdatePostViolation() {
         when(postRepository.findById(anyLong())).thenReturn(Optional.ofNullable(postEntities.getFirst()));
-        when(postRepository.save(any(PostEntity.class))).thenThrow(new ConstraintViolationException("Constraint violated", new HashSet<>()));
+        when(postRepository.saveAndFlush(any(PostEntity.class))).thenThrow(new ConstraintViolationException("Constraint violated", new HashSet<>()));
 
-        assertThrows(ConstraintViolationException.class, () -> postService.updatePost(1L, postCreateDto));
+        assertThrows(ConstraintViolationException.class, () -> postService.updatePost(1L, postCreateDto, null));
 
         verify(postRepository, times(1)).findById(anyLong());
-        verify(postRepository, times(1)).save(any(PostEntity.class));
+        verify(postRepository, times(1)).saveAndFlush(any(PostEntity.class));
     }
 
     @Test
     void testTogglePublish() {
-        when(postRepository.findById(anyLong())).thenReturn(Optional.ofNullable(postEntities.getFirst()));
-        when(postRepository.save(any(PostEntity.class))).thenReturn(postEntities.getFirst());
+        when(postRepository.updatePublished(eq(1L), eq(false), any(LocalDateTime.class), isNull())).thenReturn(1);
+        when(postRepository.findWithTagsById(1L)).thenReturn(Optional.ofNullable(postEntities.getFirst()));
 
-        var result = postService.togglePublish(postEntities.getFirst().getId(), false);
+        var result = postService.togglePublish(postEntities.getFirst().getId(), false, null);
 
         assertFalse(result.isPublished());
 
-        verify(postRepository, times(1)).findById(anyLong());
-        verify(postRepository, times(1)).save(any(PostEntity.class));
+        verify(postRepository, times(1)).updatePublished(eq(1L), eq(false), any(LocalDateTime.class), isNull());
+        verify(postRepository, never()).save(any(PostEntity.class));
+        verify(eventPublisher, times(1)).publishEvent(any(PostSavedEvent.class));
+    }
+
+    @Test
+    void testTogglePublishNotFound() {
+        when(postRepository.updatePublished(eq(3L), eq(true), any(LocalDateTime.class), isNull())).thenReturn(0);
+        when(postRepository.existsById(3L)).thenReturn(false);
+
+        assertThrows(ObjectNotFoundException.class, () -> postService.togglePublish(3L, true, null));
+
+        verify(postRepository, never()).findWithTagsById(anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testTogglePublishStaleVersion() {
+        when(postRepository.updatePublished(eq(1L), eq(true), any(LocalDateTime.class), eq(4L))).thenReturn(0);
+        when(postRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class, () -> postService.togglePublish(1L, true, 4L));
+
+        verify(postRepository, never()).findWithTagsById(anyLong());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void testUpdateContent() {
-        when(postRepository.findById(anyLong())).thenReturn(Optional.ofNullable(postEntities.getFirst()));
-        when(postRepository.save(any(PostEntity.class))).thenReturn(postEntities.getFirst());
+        when(postRepository.updateContent(eq(1L), eq("new content"), eq("new content"), eq(2), eq(1),
+                any(LocalDateTime.class), isNull())).thenReturn(1);
+        when(postRepository.findWithTagsById(1L)).thenReturn(Optional.ofNullable(postEntities.getFirst()));
 
-        var result = postService.updateContent(postEntities.getFirst().getId(), "new content");
+        var result = postService.updateContent(postEntities.getFirst().getId(), "new content", null);
 
         assertEquals(postEntities.getFirst().getContent(), result.getContent());
 
-        verify(postRepository, times(1)).findById(anyLong());
-        verify(postRepository, times(1)).save(any(PostEntity.class));
+        verify(postRepository, times(1)).updateContent(eq(1L), eq("new content"), eq("new content"), eq(2), eq(1),
+                any(LocalDateTime.class), isNull());
+        verify(postRepository, never()).save(any(PostEntity.class));
     }
 
     @Test
     void deletePost() {
-        when(postRepository.findById(anyLong())).thenReturn(Optional.ofNullable(postEntities.getFirst()));
+        when(postRepository.deleteByIdAndVersion(1L, null)).thenReturn(1);
 
-        assertTrue(postService.deletePost(postEntities.getFirst().getId()));
+        assertTrue(postService.deletePost(postEntities.getFirst().getId(), null));
 
-        verify(postRepository, times(1)).findById(anyLong());
-        verify(postRepository, times(1)).delete(any(PostEntity.class));
+        verify(postRepository, times(1)).deleteByIdAndVersion(1L, null);
+        verify(postRepository, never()).findById(anyLong());
+        verify(eventPublisher, times(1)).publishEvent(new PostDeletedEvent(postEntities.getFirst().getId()));
+    }
+
+    @Test
+    void deletePostNotFound() {
+        when(postRepository.deleteByIdAndVersion(3L, null)).thenReturn(0);
+        when(postRepository.existsById(3L)).thenReturn(false);
+
+        assertThrows(ObjectNotFoundException.class, () -> postService.deletePost(3L, null));
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void softDeletePost() {
+        var softDeleteService = postService(true);
+        when(postRepository.softDeleteByIdAndVersion(eq(1L), any(LocalDateTime.class), eq(0L))).thenReturn(1);
+
+        assertTrue(softDeleteService.deletePost(1L, 0L));
+
+        verify(postRepository, never()).deleteByIdAndVersion(anyLong(), any());
+        verify(eventPublisher, times(1)).publishEvent(new PostDeletedEvent(1L));
+    }
+
+    private PostServiceImpl postService(boolean softDelete) {
+        return new PostServiceImpl(postRepository, postCache, postSearchIndex, eventPublisher, validator, entityManager,
+                softDelete);
     }
 
 }
@@ -0,0 +1,106 @@
+package com.bmri.blogbackend.services;
+
+import com.bmri.blogbackend.dtos.response.PostResponseDto;
+import com.bmri.blogbackend.dtos.response.TagCountDto;
+import com.bmri.blogbackend.events.PostDeletedEvent;
+import com.bmri.blogbackend.events.PostSavedEvent;
+import com.bmri.blogbackend.repositories.PostRepository;
+import com.bmri.blogbackend.repositories.projections.TaggedPostView;
+import com.bmri.blogbackend.services.implementations.TagServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TagServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @InjectMocks
+    private TagServiceImpl tagService;
+
+    @BeforeEach
+    void setUp() {
+        var projectionFactory = new SpelAwareProxyProjectionFactory();
+        when(postRepository.findAllTaggedPosts()).thenReturn(List.of(
+                projectionFactory.createProjection(TaggedPostView.class, Map.of("postId", 1L, "tag", "java", "published", true)),
+                projectionFactory.createProjection(TaggedPostView.class, Map.of("postId", 1L, "tag", "spring", "published", true)),
+                projectionFactory.createProjection(TaggedPostView.class, Map.of("postId", 2L, "tag", "java", "published", false))));
+        tagService.loadCounts();
+    }
+
+    @Test
+    void testGetTags() {
+        assertEquals(List.of("java:2", "spring:1"), describe(tagService.getTags(false)));
+        assertEquals(List.of("java:1", "spring:1"), describe(tagService.getTags(true)));
+        verify(postRepository, times(1)).findAllTaggedPosts();
+    }
+
+    @Test
+    void testCreatedPostIncrementsCounts() {
+        tagService.onPostSaved(new PostSavedEvent(post(3L, List.of("spring", "jpa"), true)));
+
+        assertEquals(List.of("java:2", "spring:2", "jpa:1"), describe(tagService.getTags(false)));
+    }
+
+    @Test
+    void testRetaggedPostMovesCounts() {
+        tagService.onPostSaved(new PostSavedEvent(post(2L, List.of("kotlin"), false)));
+
+        assertEquals(List.of("java:1", "kotlin:1", "spring:1"), describe(tagService.getTags(false)));
+    }
+
+    @Test
+    void testPublishedPostUpdatesPublishedCounts() {
+        tagService.onPostSaved(new PostSavedEvent(post(2L, List.of("java"), true)));
+
+        assertEquals(List.of("java:2", "spring:1"), describe(tagService.getTags(true)));
+    }
+
+    @Test
+    void testDeletedPostDecrementsCounts() {
+        tagService.onPostDeleted(new PostDeletedEvent(1L));
+
+        assertEquals(List.of("java:1"), describe(tagService.getTags(false)));
+        assertTrue(tagService.getTags(true).isEmpty());
+    }
+
+    @Test
+    void testPostsWrittenDuringLoadAreNotCountedFromSnapshot() {
+        var projectionFactory = new SpelAwareProxyProjectionFactory();
+        when(postRepository.findAllTaggedPosts()).thenAnswer(invocation -> {
+            tagService.onPostDeleted(new PostDeletedEvent(1L));
+            tagService.onPostSaved(new PostSavedEvent(post(2L, List.of(), false)));
+            return List.of(
+                    projectionFactory.createProjection(TaggedPostView.class, Map.of("postId", 1L, "tag", "java", "published", true)),
+                    projectionFactory.createProjection(TaggedPostView.class, Map.of("postId", 2L, "tag", "java", "published", false)),
+                    projectionFactory.createProjection(TaggedPostView.class, Map.of("postId", 3L, "tag", "jpa", "published", true)));
+        });
+
+        tagService.loadCounts();
+
+        assertEquals(List.of("jpa:1"), describe(tagService.getTags(false)));
+    }
+
+    private static List<String> describe(List<TagCountDto> tags) {
+        return tags.stream().map(tag -> tag.getTag() + ":" + tag.getCount()).toList();
+    }
+
+    private static PostResponseDto post(Long id, List<String> tags, boolean published) {
+        return new PostResponseDto(id, "post" + id, "content" + id, "category", tags, published,
+                LocalDateTime.now(), LocalDateTime.now(), 0L);
+    }
+
+}
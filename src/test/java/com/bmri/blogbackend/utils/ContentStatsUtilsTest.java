@@ -0,0 +1,42 @@
+package com.bmri.blogbackend.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentStatsUtilsTest {
+
+    @Test
+    void testShortContentIsKeptWithCollapsedWhitespace() {
+        assertEquals("A short post.", ContentStatsUtils.excerpt("  A short\n\npost.  "));
+        assertEquals("", ContentStatsUtils.excerpt(" \n "));
+        assertNull(ContentStatsUtils.excerpt(null));
+    }
+
+    @Test
+    void testLongContentIsCutAtWordBoundary() {
+        var excerpt = ContentStatsUtils.excerpt("word ".repeat(100));
+
+        assertTrue(excerpt.length() <= ContentStatsUtils.EXCERPT_MAX_LENGTH + 1);
+        assertTrue(excerpt.endsWith("word…"));
+        assertFalse(excerpt.contains("  "));
+    }
+
+    @Test
+    void testLongWordIsCutAtMaximumLength() {
+        var excerpt = ContentStatsUtils.excerpt("x".repeat(500));
+
+        assertEquals("x".repeat(ContentStatsUtils.EXCERPT_MAX_LENGTH) + "…", excerpt);
+    }
+
+    @Test
+    void testWordCountAndReadingTime() {
+        assertEquals(0, ContentStatsUtils.wordCount(""));
+        assertEquals(4, ContentStatsUtils.wordCount(" one\ttwo\nthree  four "));
+        assertEquals(0, ContentStatsUtils.readingTimeMinutes(0));
+        assertEquals(1, ContentStatsUtils.readingTimeMinutes(1));
+        assertEquals(1, ContentStatsUtils.readingTimeMinutes(ContentStatsUtils.WORDS_PER_MINUTE));
+        assertEquals(2, ContentStatsUtils.readingTimeMinutes(ContentStatsUtils.WORDS_PER_MINUTE + 1));
+    }
+
+}
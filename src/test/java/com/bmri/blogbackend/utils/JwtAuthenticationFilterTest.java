@@ -0,0 +1,87 @@
+package com.bmri.blogbackend.utils;
+
+import com.bmri.blogbackend.enums.Role;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthenticationFilter(jwtUtils);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testPublicGetSkipsToken() throws Exception {
+        filter.doFilter(request("GET", "/posts/1", "Bearer token"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verifyNoInteractions(jwtUtils);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void testWriteAuthenticatesWithSingleParse() throws Exception {
+        var token = "token";
+        var claims = Jwts.claims().setSubject("admin");
+        claims.put("role", Role.ADMIN.toString());
+        when(jwtUtils.getClaims(token)).thenReturn(claims);
+
+        filter.doFilter(request("DELETE", "/posts/1", "Bearer " + token), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(jwtUtils, times(1)).getClaims(token);
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals("admin", authentication.getName());
+        assertEquals("ROLE_ADMIN", authentication.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void testActuatorGetAuthenticates() throws Exception {
+        var claims = Jwts.claims().setSubject("admin");
+        claims.put("role", Role.ADMIN.toString());
+        when(jwtUtils.getClaims("token")).thenReturn(claims);
+
+        filter.doFilter(request("GET", "/actuator/prometheus", "Bearer token"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals("admin", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    @Test
+    void testInvalidTokenLeavesRequestAnonymous() throws Exception {
+        when(jwtUtils.getClaims("invalid")).thenThrow(new MalformedJwtException("invalid"));
+
+        filter.doFilter(request("GET", "/admin/cache/posts", "Bearer invalid"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String authorization) {
+        var request = new MockHttpServletRequest(method, path);
+        request.addHeader("Authorization", authorization);
+        return request;
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.bmri.blogbackend.utils;
+
+import com.bmri.blogbackend.enums.Role;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-test-secret";
+
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = jwtUtils(SECRET);
+    }
+
+    @Test
+    void testGetClaims() {
+        var token = jwtUtils.generateToken("admin", Role.ADMIN);
+
+        var claims = jwtUtils.getClaims(token);
+
+        assertEquals("admin", claims.getSubject());
+        assertEquals(Role.ADMIN.toString(), claims.get("role", String.class));
+    }
+
+    @Test
+    void testGetClaimsReusesVerifiedToken() {
+        var token = jwtUtils.generateToken("admin", Role.ADMIN);
+
+        assertSame(jwtUtils.getClaims(token), jwtUtils.getClaims(token));
+    }
+
+    @Test
+    void testGetClaimsRejectsForeignSignature() {
+        var token = jwtUtils("other-secret-other-secret-other-secret-other").generateToken("admin", Role.ADMIN);
+
+        assertThrows(SignatureException.class, () -> jwtUtils.getClaims(token));
+    }
+
+    @Test
+    void testGetClaimsRejectsExpiredToken() {
+        var token = Jwts.builder()
+                .setSubject("admin")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .compact();
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtils.getClaims(token));
+    }
+
+    private static JwtUtils jwtUtils(String secret) {
+        var jwtUtils = new JwtUtils(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtils, "secret", secret);
+        ReflectionTestUtils.setField(jwtUtils, "cacheMaximumSize", 100L);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+}
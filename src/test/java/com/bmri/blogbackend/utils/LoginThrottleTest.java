@@ -0,0 +1,73 @@
+package com.bmri.blogbackend.utils;
+
+import com.bmri.blogbackend.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private static final String ADDRESS = "10.0.0.1";
+
+    private final LoginThrottle loginThrottle = new LoginThrottle(3, 10, Duration.ofMinutes(1));
+
+    @Test
+    void testParallelAttemptsCannotExceedLimit() throws Exception {
+        var start = new CountDownLatch(1);
+        var allowed = new AtomicInteger();
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            var attempts = new ArrayList<Future<?>>();
+            for (int i = 0; i < 20; i++) {
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        loginThrottle.reserveAttempt("admin", ADDRESS);
+                        allowed.incrementAndGet();
+                    } catch (TooManyRequestsException e) {
+                        // Expected once the limit is reached
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (var attempt : attempts) {
+                attempt.get();
+            }
+        }
+
+        assertEquals(3, allowed.get());
+    }
+
+    @Test
+    void testRejectedAddressDoesNotCountAgainstUsername() {
+        var addressThrottle = new LoginThrottle(3, 1, Duration.ofMinutes(1));
+        addressThrottle.reserveAttempt("user1", ADDRESS);
+
+        assertThrows(TooManyRequestsException.class, () -> addressThrottle.reserveAttempt("user2", ADDRESS));
+        addressThrottle.reserveAttempt("user2", "10.0.0.2");
+        addressThrottle.reserveAttempt("user2", "10.0.0.3");
+        addressThrottle.reserveAttempt("user2", "10.0.0.4");
+    }
+
+    @Test
+    void testReleasedAndSuccessfulAttemptsFreeTheirReservation() {
+        loginThrottle.reserveAttempt("admin", ADDRESS);
+        loginThrottle.reserveAttempt("admin", ADDRESS);
+        loginThrottle.reserveAttempt("admin", ADDRESS);
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.reserveAttempt("admin", ADDRESS));
+
+        loginThrottle.release("admin", ADDRESS);
+        loginThrottle.reserveAttempt("admin", ADDRESS);
+
+        loginThrottle.recordSuccess("admin", ADDRESS);
+        loginThrottle.reserveAttempt("admin", ADDRESS);
+    }
+
+}